@@ -6,10 +6,12 @@ import org.rws.mastermind.database.DatabaseSetup;
 import org.rws.mastermind.database.MastermindDB;
 import org.rws.mastermind.input.CLIInputHandler;
 import org.rws.mastermind.http.HttpHandlerImp;
+import org.rws.mastermind.server.GameServer;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.io.File;
+import java.io.IOException;
 
 /**
  * The {@code Main} class serves as the entry point for the Mastermind game application.
@@ -47,7 +49,7 @@ public class Main {
         // DATABASE 
         // setup, connection, and shutdown task registration
         MastermindDB db;
-        if (gameMode == 2) {
+        if (gameMode == 2 || gameMode == 3) {
             DatabaseSetup.setupDatabase(dbFile);
             if (!checkFileExists(dbFile)) { 
                 DatabaseSetup.setupDatabase(dbFile); 
@@ -58,6 +60,13 @@ public class Main {
             db = null;
         }
 
+        // GAME SERVER
+        // serves games over HTTP until the process is stopped
+        if (gameMode == 3) {
+            startServer(db);
+            return;
+        }
+
         // HTTP HANDLER
         // setup and shutdown task registration
         HttpHandlerImp httpHandler = new HttpHandlerImp();
@@ -102,6 +111,7 @@ public class Main {
      *         <ul>
      *             <li>1 for basic CLI mode</li>
      *             <li>2 for dynamic CLI mode</li>
+     *             <li>3 for HTTP/JSON server mode</li>
      *             <li>-1 for invalid arguments</li>
      *         </ul>
      */
@@ -117,10 +127,41 @@ public class Main {
                 System.out.println("Starting game in Dynamic CLI mode...");
                 yield 2;
             }
+            case "server" -> {
+                // Initialize HTTP/JSON server mode
+                System.out.println("Starting game server...");
+                yield 3;
+            }
             default -> -1;
         };
     }
 
+    /**
+     * Starts the HTTP/JSON game server on the port given by the {@code mastermind.server.port}
+     * system property and stops it, then the database, on shutdown.
+     *
+     * @param db The database backing the leaderboard.
+     */
+    private static void startServer(MastermindDB db) {
+        GameServer server;
+        try {
+            server = new GameServer(Integer.getInteger("mastermind.server.port", GameServer.DEFAULT_PORT), db);
+        } catch (IOException e) {
+            System.out.println("Could not start the game server: " + e.getMessage());
+            db.closeDB();
+            return;
+        }
+        server.start();
+        System.out.println("Game server listening on port " + server.getPort() + ". Press Ctrl+C to stop.");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            for (Runnable task : shutdownTasks) {
+                task.run();
+            }
+        }));
+    }
+
     /**
      * Checks if a file exists.
      *
@@ -141,6 +182,7 @@ public class Main {
                 "",
                 "1. java java_mastermind cli_basic (Starts the game with a basic command - line interface)",
                 "2. java java_mastermind cli_dynamic (Starts the game with an advanced command - line interface)",
+                "3. java java_mastermind server (Serves games over HTTP/JSON, see GameServer for the endpoints)",
         };
 
         for (String line : usage) {
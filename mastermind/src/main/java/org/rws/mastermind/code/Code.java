@@ -13,6 +13,8 @@ public class Code {
     private final int length;
     private final String validCharacters;
     private final int numVariables;
+    private final long packed;
+    private final long index;
 
     /**
      * Constructs a {@code Code} object with the specified code and valid characters.
@@ -20,21 +22,24 @@ public class Code {
      * @param code           The string representing the code.
      * @param validCharacters The string representing the valid characters for the code.
      *                        These characters define the permissible values for each code slot.
+     * @throws IllegalArgumentException if the code contains characters outside {@code validCharacters}.
      */
     public Code(String code, String validCharacters) {
         this.code = code.toCharArray();
         this.length = code.length();
         this.validCharacters = validCharacters;
         this.numVariables = validCharacters.length();
+        this.packed = PackedCode.pack(code, validCharacters);
+        this.index = PackedCode.toIndex(packed, length, numVariables);
     }
 
     /**
      * Gets the code as a character array.
      *
-     * @return A character array representing the code.
+     * @return A copy of the code characters, so the code itself stays immutable.
      */
     public char[] getCode() {
-        return code;
+        return code.clone();
     }
 
     /**
@@ -64,6 +69,26 @@ public class Code {
         return numVariables;
     }
 
+    /**
+     * Gets the code in its packed nibble form.
+     *
+     * @return A long holding one symbol index per 4-bit position.
+     * @see PackedCode
+     */
+    public long getPacked() {
+        return packed;
+    }
+
+    /**
+     * Gets the mixed-radix index of the code in its code space.
+     *
+     * @return The index of the code.
+     * @see PackedCode#toIndex(long, int, int)
+     */
+    public long getIndex() {
+        return index;
+    }
+
     /**
      * Checks if the given guess matches the code.
      *
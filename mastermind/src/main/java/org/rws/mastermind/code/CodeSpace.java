@@ -0,0 +1,221 @@
+package org.rws.mastermind.code;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The {@code CodeSpace} class enumerates every code of a configuration without
+ * materialising them.
+ *
+ * <p>
+ * Codes are ordered by their mixed-radix index (see {@link PackedCode#toIndex(long, int, int)}).
+ * {@link #rank(long)} and {@link #unrank(long)} convert between a packed code and its index,
+ * and {@link #next(long)} steps a packed code to the following index with a carry instead of
+ * a division per position. The streams are backed by a {@link Spliterator.OfLong} over an
+ * index range that splits evenly in half, so parallel streams over billions of codes stay
+ * balanced and create no object per code.
+ * </p>
+ */
+public final class CodeSpace {
+    private static final long NIBBLE_MASK = 0xFL;
+
+    private final int codeLength;
+    private final int numVars;
+    private final long size;
+
+    /**
+     * Constructs a {@code CodeSpace}.
+     *
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public CodeSpace(int codeLength, int numVars) {
+        if (codeLength < 1 || codeLength > PackedCode.MAX_LENGTH || numVars < 1 || numVars > PackedCode.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Unsupported configuration: length " + codeLength
+                    + " over " + numVars + " symbols.");
+        }
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.size = PackedCode.spaceSize(codeLength, numVars);
+    }
+
+    /**
+     * Gets the number of codes.
+     *
+     * @return The size of the code space.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the length of the code.
+     *
+     * @return The length of the code.
+     */
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Gets the number of valid characters.
+     *
+     * @return The number of valid characters.
+     */
+    public int getNumVars() {
+        return numVars;
+    }
+
+    /**
+     * Gets the index of a packed code.
+     *
+     * @param packed The packed code.
+     * @return The mixed-radix index of the code.
+     */
+    public long rank(long packed) {
+        return PackedCode.toIndex(packed, codeLength, numVars);
+    }
+
+    /**
+     * Gets the packed code at an index.
+     *
+     * @param index The mixed-radix index of the code.
+     * @return The packed code.
+     */
+    public long unrank(long index) {
+        return PackedCode.fromIndex(index, codeLength, numVars);
+    }
+
+    /**
+     * Steps a packed code to the code at the next index. The last code wraps to the first.
+     *
+     * @param packed The packed code.
+     * @return The packed code whose index is one higher.
+     */
+    public long next(long packed) {
+        for (int i = 0; i < codeLength; i++) {
+            int shift = i * PackedCode.BITS_PER_POSITION;
+            if (((packed >>> shift) & NIBBLE_MASK) + 1 < numVars) {
+                return packed + (1L << shift);
+            }
+            packed &= ~(NIBBLE_MASK << shift);
+        }
+        return packed;
+    }
+
+    /**
+     * Draws a code uniformly at random.
+     *
+     * @param random The source of randomness.
+     * @return A packed code.
+     */
+    public long random(RandomGenerator random) {
+        return unrank(random.nextLong(size));
+    }
+
+    /**
+     * Creates a spliterator over the indices of every code.
+     *
+     * @return A sized, ordered spliterator of indices.
+     */
+    public Spliterator.OfLong indexSpliterator() {
+        return new RangeSpliterator(0L, size, false);
+    }
+
+    /**
+     * Creates a spliterator over every packed code, in index order.
+     *
+     * @return A sized, ordered spliterator of packed codes.
+     */
+    public Spliterator.OfLong codeSpliterator() {
+        return new RangeSpliterator(0L, size, true);
+    }
+
+    /**
+     * Streams the indices of every code.
+     *
+     * @param parallel True for a parallel stream.
+     * @return A lazy stream of indices.
+     */
+    public LongStream indices(boolean parallel) {
+        return StreamSupport.longStream(indexSpliterator(), parallel);
+    }
+
+    /**
+     * Streams every packed code in index order.
+     *
+     * @param parallel True for a parallel stream.
+     * @return A lazy stream of packed codes.
+     */
+    public LongStream codes(boolean parallel) {
+        return StreamSupport.longStream(codeSpliterator(), parallel);
+    }
+
+    /**
+     * Covers the indices in {@code [from, to)}, yielding either the indices or the packed
+     * codes, which are stepped with {@link #next(long)} after the first.
+     */
+    private final class RangeSpliterator implements Spliterator.OfLong {
+        private long from;
+        private final long to;
+        private final boolean packed;
+
+        RangeSpliterator(long from, long to, boolean packed) {
+            this.from = from;
+            this.to = to;
+            this.packed = packed;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(packed ? unrank(from) : from);
+            from++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long end = to;
+            if (!packed) {
+                for (long i = from; i < end; i++) {
+                    action.accept(i);
+                }
+            } else if (from < end) {
+                long code = unrank(from);
+                for (long i = from; i < end; i++) {
+                    action.accept(code);
+                    code = next(code);
+                }
+            }
+            from = end;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            Spliterator.OfLong prefix = new RangeSpliterator(from, middle, packed);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.rws.mastermind.code;
+
+/**
+ * The {@code PackedCode} class provides static helpers for the primitive forms of a code.
+ *
+ * <p>
+ * Two encodings are supported:
+ * <ul>
+ *   <li><b>Packed</b>: one 4-bit nibble per position, position {@code i} stored in
+ *       bits {@code 4*i .. 4*i+3}. Each nibble holds the index of the symbol in the
+ *       valid character string.</li>
+ *   <li><b>Index</b>: the mixed-radix rank of the code in the code space, with
+ *       position 0 as the least significant digit.</li>
+ * </ul>
+ * Neither encoding allocates, so they are suitable for scoring hot paths.
+ * </p>
+ */
+public final class PackedCode {
+
+    /** The number of bits used for each position. */
+    public static final int BITS_PER_POSITION = 4;
+
+    /** The maximum code length, chosen so that per-symbol counts also fit a nibble. */
+    public static final int MAX_LENGTH = 15;
+
+    /** The maximum number of valid characters. */
+    public static final int MAX_SYMBOLS = 16;
+
+    private static final long NIBBLE_MASK = 0xFL;
+
+    private PackedCode() {}
+
+    /**
+     * Packs a code string into its nibble form.
+     *
+     * @param code            The code characters.
+     * @param validCharacters The valid characters; each character is encoded as its index in this string.
+     * @return The packed code.
+     * @throws IllegalArgumentException if the code is too long or contains an invalid character.
+     */
+    public static long pack(CharSequence code, String validCharacters) {
+        int length = code.length();
+        if (length > MAX_LENGTH || validCharacters.length() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Code configuration too large to pack: " + code);
+        }
+
+        long packed = 0L;
+        for (int i = 0; i < length; i++) {
+            int symbol = validCharacters.indexOf(code.charAt(i));
+            if (symbol < 0) {
+                throw new IllegalArgumentException("Invalid character in code: " + code.charAt(i));
+            }
+            packed |= (long) symbol << (i * BITS_PER_POSITION);
+        }
+        return packed;
+    }
+
+    /**
+     * Converts a packed code back into its string form.
+     *
+     * @param packed          The packed code.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters used to pack the code.
+     * @return The code as a string.
+     */
+    public static String unpack(long packed, int codeLength, String validCharacters) {
+        char[] chars = new char[codeLength];
+        for (int i = 0; i < codeLength; i++) {
+            chars[i] = validCharacters.charAt(symbolAt(packed, i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets the symbol index stored at a position.
+     *
+     * @param packed   The packed code.
+     * @param position The zero-based position.
+     * @return The symbol index at the position.
+     */
+    public static int symbolAt(long packed, int position) {
+        return (int) ((packed >>> (position * BITS_PER_POSITION)) & NIBBLE_MASK);
+    }
+
+    /**
+     * Converts a packed code into its mixed-radix index.
+     *
+     * @param packed     The packed code.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters (the radix).
+     * @return The index of the code in the code space.
+     */
+    public static long toIndex(long packed, int codeLength, int numVars) {
+        long index = 0L;
+        for (int i = codeLength - 1; i >= 0; i--) {
+            index = index * numVars + symbolAt(packed, i);
+        }
+        return index;
+    }
+
+    /**
+     * Converts a mixed-radix index into a packed code.
+     *
+     * @param index      The index of the code in the code space.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters (the radix).
+     * @return The packed code.
+     */
+    public static long fromIndex(long index, int codeLength, int numVars) {
+        long packed = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            packed |= (index % numVars) << (i * BITS_PER_POSITION);
+            index /= numVars;
+        }
+        return packed;
+    }
+
+    /**
+     * Gets the number of codes for a configuration.
+     *
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return The size of the code space, saturated at {@link Long#MAX_VALUE}.
+     */
+    public static long spaceSize(int codeLength, int numVars) {
+        long size = 1L;
+        for (int i = 0; i < codeLength; i++) {
+            if (size > Long.MAX_VALUE / numVars) {
+                return Long.MAX_VALUE;
+            }
+            size *= numVars;
+        }
+        return size;
+    }
+}
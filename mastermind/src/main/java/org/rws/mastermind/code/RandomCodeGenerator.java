@@ -67,11 +67,8 @@ public class RandomCodeGenerator implements CodeGenerator {
      * @return A {@link Code} object representing the generated code.
      */
     public Code backupGenerateCode() {
-        StringBuilder code = new StringBuilder();
-        for (int i = 0; i < codeLength; i++) {
-            code.append(validCharacters.charAt(random.nextInt(validCharacters.length())));
-        }
-        return new Code(code.toString(), validCharacters);
+        long packed = new CodeSpace(codeLength, validCharacters.length()).random(random);
+        return new Code(PackedCode.unpack(packed, codeLength, validCharacters), validCharacters);
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.rws.mastermind.code;
 
+import org.rws.mastermind.models.Validator;
 import org.rws.mastermind.settings.GameSetter;
 
 import java.util.Scanner;
@@ -15,6 +16,7 @@ import java.util.Scanner;
 public class UserCodeGenerator implements CodeGenerator {
     private final int codeLength;
     private final String validCharacters;
+    private final Validator validator;
 
     /**
      * Constructs a {@code UserCodeGenerator} with the specified game settings.
@@ -25,6 +27,7 @@ public class UserCodeGenerator implements CodeGenerator {
     public UserCodeGenerator(GameSetter settings) {
         this.codeLength = settings.getCodeLength();
         this.validCharacters = settings.getCodeCharString();
+        this.validator = new Validator(codeLength, validCharacters);
     }
 
     /**
@@ -45,7 +48,7 @@ public class UserCodeGenerator implements CodeGenerator {
             System.out.println("Use only the following characters: " + validCharacters);
             code = scanner.nextLine();
 
-            if (isValidCode(code)) {
+            if (validator.isValidGuess(code)) {
                 break;
             } else {
                 System.out.println("Invalid input.");
@@ -55,24 +58,4 @@ public class UserCodeGenerator implements CodeGenerator {
         scanner.close();
         return new Code(code, validCharacters);
     }
-
-    /**
-     * Validates the user-provided code.
-     *
-     * @param code The string representing the user input.
-     * @return {@code true} if the input is valid; {@code false} otherwise.
-     */
-    private boolean isValidCode(String code) {
-        if (code.length() != codeLength) {
-            return false;
-        }
-
-        for (char c : code.toCharArray()) {
-            if (validCharacters.indexOf(c) == -1) {
-                return false;
-            }
-        }
-
-        return true;
-    }
 }
@@ -176,14 +176,16 @@ public class CLIGameEngine implements GameEngine {
                     return 0;
                 }
 
-                if (!validator.isValidGuess(guess)) {
+                long packedGuess = validator.encode(guess);
+                if (packedGuess < 0) {
                     if (!input.isRunning()) {
                         return 1;
                     }
                     input.displayMessage("Invalid guess. Please try again.");
                     return 0;
                 } else {
-                    input.displayMessage(session.processGuess(guess));
+                    input.displayMessage(session.processGuess(packedGuess));
+                    displayRemainingCandidates();
                     return 0;
                 }
             default:
@@ -225,6 +227,20 @@ public class CLIGameEngine implements GameEngine {
         };
         input.displayMultiMessage(openHandMessage);
         displayCode();
+        displayRemainingCandidates();
+    }
+
+    /**
+     * Displays the number of codes still consistent with the feedback,
+     * when the session tracks them (open hand mode on a small enough configuration).
+     */
+    private void displayRemainingCandidates() {
+        long remaining = session.gameState.getRemainingCandidates();
+        if (remaining < 0 || session.isGameOver()) {
+            return;
+        }
+        input.displayMessage("Remaining possibilities: " + remaining
+                + " (" + session.gameState.getCandidateMemoryBytes() / 1024 + " KiB)");
     }
 
     /**
@@ -6,6 +6,7 @@ import org.rws.mastermind.code.Code;
 import org.rws.mastermind.code.CodeFactory;
 import org.rws.mastermind.http.HttpHandler;
 import org.rws.mastermind.models.*;
+import org.rws.mastermind.score.ScoreResult;
 import org.rws.mastermind.settings.GameSetter;
 
 /**
@@ -39,7 +40,8 @@ public class GameSession {
         this.currentPlayer = players.get(currentPlayerIndex);
 
         Code secretCode = CodeFactory.createCode(settings, http);
-        gameState = new GameState(secretCode, settings.getFeedbackType(), settings.getNumberOfRounds());
+        gameState = new GameState(secretCode, settings.getFeedbackType(), settings.getNumberOfRounds(),
+                settings.getOpenHandFlag());
     }
 
     /**
@@ -64,7 +66,8 @@ public class GameSession {
      */
     public void resetSession() {
         Code newSecretCode = CodeFactory.createCode(settings, http);
-        gameState = new GameState(newSecretCode, settings.getFeedbackType(), settings.getNumberOfRounds());
+        gameState = new GameState(newSecretCode, settings.getFeedbackType(), settings.getNumberOfRounds(),
+                settings.getOpenHandFlag());
     }
 
     /**
@@ -77,6 +80,26 @@ public class GameSession {
         return gameState.processGuess(guess);
     }
 
+    /**
+     * Processes a guess that was packed while it was validated and returns feedback.
+     *
+     * @param packedGuess The packed guess.
+     * @return Feedback on the guess.
+     */
+    public String processGuess(long packedGuess) {
+        return gameState.processGuess(packedGuess);
+    }
+
+    /**
+     * Processes a player's guess and returns the structured result without rendering it.
+     *
+     * @param guess The player's guess.
+     * @return The {@link ScoreResult} for the guess, or {@code null} if the game is not accepting guesses.
+     */
+    public ScoreResult submitGuess(String guess) {
+        return gameState.submitGuess(guess);
+    }
+
     /**
      * Ends the game session and finalizes the game state.
      */
@@ -0,0 +1,83 @@
+package org.rws.mastermind.engine;
+
+import org.rws.mastermind.score.ScoreResult;
+
+/**
+ * The {@code GuessResult} class is the structured outcome of one guess submitted to a
+ * {@link HeadlessEngine}.
+ *
+ * <p>
+ * A scored guess carries its {@link ScoreResult} and the state of the game after it. Guesses
+ * that were not scored share the constant results {@link #INVALID} and {@link #GAME_OVER},
+ * so rejecting a guess allocates nothing. Results are immutable.
+ * </p>
+ */
+public final class GuessResult {
+    /** The outcome of a guess. */
+    public enum Status { SCORED, INVALID, GAME_OVER }
+
+    /** The result of a guess with the wrong length or an invalid character. */
+    public static final GuessResult INVALID = new GuessResult(Status.INVALID, null, -1, false, false);
+
+    /** The result of a guess made after the game has ended. */
+    public static final GuessResult GAME_OVER = new GuessResult(Status.GAME_OVER, null, 0, false, true);
+
+    private final Status status;
+    private final ScoreResult score;
+    private final int attemptsLeft;
+    private final boolean won;
+    private final boolean over;
+
+    GuessResult(Status status, ScoreResult score, int attemptsLeft, boolean won, boolean over) {
+        this.status = status;
+        this.score = score;
+        this.attemptsLeft = attemptsLeft;
+        this.won = won;
+        this.over = over;
+    }
+
+    /**
+     * Gets the outcome of the guess.
+     *
+     * @return {@link Status#SCORED} if the guess was scored.
+     */
+    public Status getStatus() { return status; }
+
+    /**
+     * Gets the feedback for the guess.
+     *
+     * @return The {@link ScoreResult}, or {@code null} if the guess was not scored.
+     */
+    public ScoreResult getScore() { return score; }
+
+    /**
+     * Gets the number of attempts left after the guess.
+     *
+     * @return The number of attempts left, or {@code -1} if the guess was invalid.
+     */
+    public int getAttemptsLeft() { return attemptsLeft; }
+
+    /**
+     * Checks if the guess cracked the code.
+     *
+     * @return True if the guess matched the secret code.
+     */
+    public boolean isWon() { return won; }
+
+    /**
+     * Checks if the game is over after the guess.
+     *
+     * @return True if the code was cracked or no attempts are left.
+     */
+    public boolean isGameOver() { return over; }
+
+    @Override
+    public String toString() {
+        return switch (status) {
+            case SCORED -> "GuessResult{" + score + ", attemptsLeft=" + attemptsLeft
+                    + ", won=" + won + ", over=" + over + "}";
+            case INVALID -> "GuessResult{invalid}";
+            case GAME_OVER -> "GuessResult{game over}";
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package org.rws.mastermind.engine;
+
+import org.rws.mastermind.code.Code;
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.models.GameState;
+import org.rws.mastermind.models.Validator;
+import org.rws.mastermind.score.ScoreResult;
+import org.rws.mastermind.settings.GameSetter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code HeadlessEngine} class plays one game without any console or network I/O, for
+ * bots, simulations, servers and benchmarks.
+ *
+ * <p>
+ * The engine is created from a {@link GameSetter}. The secret code is either given or drawn
+ * locally, since the {@link org.rws.mastermind.code.CodeFactory} generators may prompt the
+ * user or call a web service. Each guess is validated and packed in one pass by the
+ * {@link Validator}, scored through the {@link GameState}, and answered with a
+ * {@link GuessResult}; nothing is printed and no feedback text is rendered unless asked for.
+ * </p>
+ *
+ * <p>
+ * Every method that reads or changes the game holds the engine's lock, so one engine can be
+ * driven from any thread. Independent engines share nothing mutable and run in parallel.
+ * </p>
+ */
+public final class HeadlessEngine {
+    private final GameSetter settings;
+    private final Validator validator;
+    private GameState gameState;
+    private Code secretCode;
+
+    /**
+     * Constructs a {@code HeadlessEngine} with a random secret code.
+     *
+     * @param settings The game settings: code length, valid characters, rounds and feedback type.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public HeadlessEngine(GameSetter settings) {
+        this(settings, randomCode(settings));
+    }
+
+    /**
+     * Constructs a {@code HeadlessEngine} with a given secret code.
+     *
+     * @param settings   The game settings: code length, valid characters, rounds and feedback type.
+     * @param secretCode The secret code to crack.
+     * @throws IllegalArgumentException if the configuration cannot be packed or the secret code
+     *                                  is not valid for the settings.
+     */
+    public HeadlessEngine(GameSetter settings, String secretCode) {
+        this.settings = settings;
+        this.validator = new Validator(settings.getCodeLength(), settings.getCodeCharString());
+        synchronized (this) {
+            start(secretCode);
+        }
+    }
+
+    /**
+     * Scores a guess.
+     *
+     * @param guess The guess as typed by the player.
+     * @return The result of the guess, or {@link GuessResult#INVALID} or
+     *         {@link GuessResult#GAME_OVER} if it was not scored.
+     */
+    public GuessResult guess(CharSequence guess) {
+        long packedGuess = validator.encode(guess);
+        return packedGuess < 0 ? GuessResult.INVALID : play(packedGuess);
+    }
+
+    /**
+     * Scores a packed guess, such as one chosen by a solver, after checking it against the
+     * code length and number of valid characters.
+     *
+     * @param packedGuess The packed guess, with one symbol index per position.
+     * @return The result of the guess, or {@link GuessResult#INVALID} or
+     *         {@link GuessResult#GAME_OVER} if it was not scored.
+     */
+    public GuessResult guess(long packedGuess) {
+        return validator.isValidPacked(packedGuess) ? play(packedGuess) : GuessResult.INVALID;
+    }
+
+    private synchronized GuessResult play(long packedGuess) {
+        ScoreResult score = gameState.submitGuess(packedGuess);
+        if (score == null) {
+            return GuessResult.GAME_OVER;
+        }
+        return new GuessResult(GuessResult.Status.SCORED, score, gameState.getAttemptsLeft(),
+                gameState.isGameWon(), gameState.isGameOver());
+    }
+
+    /**
+     * Starts a new game with a random secret code and the same settings.
+     */
+    public void reset() {
+        reset(randomCode(settings));
+    }
+
+    /**
+     * Starts a new game with a given secret code and the same settings.
+     *
+     * @param secretCode The secret code to crack.
+     * @throws IllegalArgumentException if the secret code is not valid for the settings.
+     */
+    public synchronized void reset(String secretCode) {
+        start(secretCode);
+    }
+
+    /**
+     * Gets the number of attempts left.
+     *
+     * @return The number of attempts left.
+     */
+    public synchronized int getAttemptsLeft() { return gameState.getAttemptsLeft(); }
+
+    /**
+     * Checks if the code has been cracked.
+     *
+     * @return True if the game is won.
+     */
+    public synchronized boolean isGameWon() { return gameState.isGameWon(); }
+
+    /**
+     * Checks if the game has ended.
+     *
+     * @return True if the code was cracked or no attempts are left.
+     */
+    public synchronized boolean isGameOver() { return gameState.isGameOver(); }
+
+    /**
+     * Gets the secret code, for reports once the game is over.
+     *
+     * @return The secret code as a string.
+     */
+    public synchronized String getSecretCodeString() { return secretCode.toString(); }
+
+    /**
+     * Gets the settings the engine plays with.
+     *
+     * @return The game settings.
+     */
+    public GameSetter getSettings() { return settings; }
+
+    private void start(String secret) {
+        if (!validator.isValidGuess(secret)) {
+            throw new IllegalArgumentException("Invalid secret code for these settings: " + secret);
+        }
+        secretCode = new Code(secret, settings.getCodeCharString());
+        gameState = new GameState(secretCode, settings.getFeedbackType(), settings.getNumberOfRounds(),
+                settings.getOpenHandFlag());
+    }
+
+    private static String randomCode(GameSetter settings) {
+        String validCharacters = settings.getCodeCharString();
+        long packed = new CodeSpace(settings.getCodeLength(), validCharacters.length())
+                .random(ThreadLocalRandom.current());
+        return PackedCode.unpack(packed, settings.getCodeLength(), validCharacters);
+    }
+}
@@ -156,7 +156,8 @@ public class MMGameEngine implements GameEngine {
             return 0;
         }
 
-        if (!validator.isValidGuess(guess)) {
+        long packedGuess = validator.encode(guess);
+        if (packedGuess < 0) {
             if (!input.isRunning()) {
                 return 1;
             }
@@ -165,7 +166,7 @@ public class MMGameEngine implements GameEngine {
         }
 
         input.displayMessage("");
-        input.displayMessage(session.processGuess(guess));
+        input.displayMessage(session.processGuess(packedGuess));
 
         return 1;
     }
@@ -0,0 +1,147 @@
+package org.rws.mastermind.engine;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code ManagedSession} class is one game registered with a {@link SessionManager}.
+ *
+ * <p>
+ * Guesses are queued in the session's mailbox and played in arrival order by its turn loop.
+ * The loop only runs while the mailbox has work: the first guess to arrive at an idle session
+ * schedules it on the manager's executor, and it stops once the mailbox is empty, so an idle
+ * session holds no thread. A loop plays at most {@link #TURNS_PER_RUN} guesses before it
+ * yields its thread and reschedules itself, so busy sessions cannot starve the others.
+ * </p>
+ */
+public final class ManagedSession {
+    /** The number of guesses a turn loop plays before it lets other sessions run. */
+    public static final int TURNS_PER_RUN = 16;
+
+    private final String id;
+    private final HeadlessEngine engine;
+    private final Executor executor;
+    private final Queue<Turn> turns = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long lastAccessMillis;
+    private volatile boolean closed;
+
+    ManagedSession(String id, HeadlessEngine engine, Executor executor, long nowMillis) {
+        this.id = id;
+        this.engine = engine;
+        this.executor = executor;
+        this.lastAccessMillis = nowMillis;
+    }
+
+    /**
+     * Queues a guess and makes sure the turn loop will play it.
+     *
+     * @param guess     The guess as typed by the player.
+     * @param nowMillis The current time, recorded as the last access.
+     * @return A future completed with the result once the guess has been played.
+     */
+    CompletableFuture<GuessResult> submit(CharSequence guess, long nowMillis) {
+        lastAccessMillis = nowMillis;
+        Turn turn = new Turn(guess);
+        turns.offer(turn);
+        schedule();
+        return turn.result;
+    }
+
+    /**
+     * Marks the session closed. Queued and later guesses complete with {@link GuessResult#GAME_OVER}.
+     */
+    void close() {
+        closed = true;
+        schedule();
+    }
+
+    /**
+     * Checks if the turn loop is idle, with no guess waiting or being played.
+     *
+     * @return True if nothing is queued or scheduled.
+     */
+    boolean isIdle() {
+        return !scheduled.get() && turns.isEmpty();
+    }
+
+    private void schedule() {
+        if (!turns.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runTurns);
+            } catch (RejectedExecutionException e) {
+                closed = true;
+                runTurns();
+            }
+        }
+    }
+
+    /**
+     * The turn loop: plays queued guesses in order, then either stops or reschedules itself.
+     * A guess that throws completes its own future exceptionally; the loop carries on with the
+     * next one, so callers waiting on later guesses are never stranded. An {@link Error} is
+     * rethrown after its future is completed, and the remaining turns run in a new loop.
+     */
+    private void runTurns() {
+        try {
+            for (int played = 0; played < TURNS_PER_RUN; played++) {
+                Turn turn = turns.poll();
+                if (turn == null) {
+                    break;
+                }
+                try {
+                    turn.result.complete(closed ? GuessResult.GAME_OVER : engine.guess(turn.guess));
+                } catch (RuntimeException e) {
+                    turn.result.completeExceptionally(e);
+                } catch (Error e) {
+                    turn.result.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            schedule();
+        }
+    }
+
+    /**
+     * Gets the session ID.
+     *
+     * @return The session ID.
+     */
+    public String getId() { return id; }
+
+    /**
+     * Gets the engine that plays the session's game. Calling it directly bypasses the mailbox.
+     *
+     * @return The headless engine.
+     */
+    public HeadlessEngine getEngine() { return engine; }
+
+    /**
+     * Gets the time the session was created or last received a guess.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getLastAccessMillis() { return lastAccessMillis; }
+
+    /**
+     * Checks if the session has been closed or expired.
+     *
+     * @return True if the session no longer plays guesses.
+     */
+    public boolean isClosed() { return closed; }
+
+    private static final class Turn {
+        final CharSequence guess;
+        final CompletableFuture<GuessResult> result = new CompletableFuture<>();
+
+        Turn(CharSequence guess) {
+            this.guess = guess;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.rws.mastermind.engine;
+
+import org.rws.mastermind.settings.GameSetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code SessionManager} class keeps track of live game sessions and plays their guesses
+ * concurrently.
+ *
+ * <p>
+ * Sessions are {@link HeadlessEngine} games kept in a concurrent map under a random
+ * {@link UUID}. Each has its own mailbox and turn loop (see {@link ManagedSession}), which runs
+ * on a virtual thread when the runtime has them (JDK 21 and later, see the {@code jdk21} Maven
+ * profile) and on a fixed pool of platform threads, one per core, otherwise. The executor is
+ * found by reflection so the same build runs on JDK 17. Set the system property
+ * {@code mastermind.sessions.virtualThreads=false} to force the platform pool.
+ * </p>
+ *
+ * <p>
+ * Memory is bounded: an idle session holds no thread, the number of sessions is capped, and a
+ * background sweep expires sessions that have not received a guess within the idle timeout.
+ * The cap and timeout can be set with the {@code mastermind.sessions.maxSessions} and
+ * {@code mastermind.sessions.idleTimeoutMillis} system properties; a timeout of {@code 0}
+ * disables expiry.
+ * </p>
+ */
+public final class SessionManager implements AutoCloseable {
+    /** The default maximum number of live sessions. */
+    public static final int DEFAULT_MAX_SESSIONS = 1 << 18;
+
+    /** The default time after which a session with no guesses expires. */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
+
+    private final Map<String, ManagedSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final int maxSessions;
+    private final long idleTimeoutMillis;
+    private final boolean virtualThreads;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Constructs a {@code SessionManager} configured from system properties.
+     */
+    public SessionManager() {
+        this(Integer.getInteger("mastermind.sessions.maxSessions", DEFAULT_MAX_SESSIONS),
+                Long.getLong("mastermind.sessions.idleTimeoutMillis", DEFAULT_IDLE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Constructs a {@code SessionManager}.
+     *
+     * @param maxSessions       The maximum number of live sessions.
+     * @param idleTimeoutMillis The time after which a session with no guesses expires,
+     *                          or {@code 0} to keep sessions until they are closed.
+     */
+    public SessionManager(int maxSessions, long idleTimeoutMillis) {
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+
+        ExecutorService virtual = Boolean.parseBoolean(System.getProperty("mastermind.sessions.virtualThreads", "true"))
+                ? createVirtualThreadExecutor()
+                : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null
+                ? virtual
+                : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreads("mastermind-session-"));
+
+        if (idleTimeoutMillis > 0) {
+            long period = Math.max(1_000L, idleTimeoutMillis / 4);
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("mastermind-session-sweeper-"));
+            sweeper.scheduleWithFixedDelay(() -> expireIdleSessions(System.currentTimeMillis()),
+                    period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+        logger.info("Session manager started with " + (virtualThreads ? "virtual threads" : "a platform thread pool"));
+    }
+
+    /**
+     * Creates and registers a session with a random secret code.
+     *
+     * @param settings The game settings.
+     * @return The new session.
+     * @throws IllegalStateException    if the maximum number of sessions is live.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public ManagedSession createSession(GameSetter settings) {
+        return register(() -> new HeadlessEngine(settings));
+    }
+
+    /**
+     * Creates and registers a session with a given secret code.
+     *
+     * @param settings   The game settings.
+     * @param secretCode The secret code to crack.
+     * @return The new session.
+     * @throws IllegalStateException    if the maximum number of sessions is live.
+     * @throws IllegalArgumentException if the secret code is not valid for the settings.
+     */
+    public ManagedSession createSession(GameSetter settings, String secretCode) {
+        return register(() -> new HeadlessEngine(settings, secretCode));
+    }
+
+    /**
+     * Looks up a live session.
+     *
+     * @param id The session ID.
+     * @return The session, or {@code null} if there is no live session with this ID.
+     */
+    public ManagedSession getSession(String id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Queues a guess on a session's turn loop.
+     *
+     * @param id    The session ID.
+     * @param guess The guess as typed by the player.
+     * @return A future completed with the result once the guess has been played,
+     *         or {@code null} if there is no live session with this ID.
+     */
+    public CompletableFuture<GuessResult> submitGuess(String id, CharSequence guess) {
+        ManagedSession session = sessions.get(id);
+        return session == null ? null : session.submit(guess, System.currentTimeMillis());
+    }
+
+    /**
+     * Closes and unregisters a session. Guesses still queued complete with
+     * {@link GuessResult#GAME_OVER}.
+     *
+     * @param id The session ID.
+     * @return True if a live session was closed.
+     */
+    public boolean closeSession(String id) {
+        ManagedSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        sessionCount.decrementAndGet();
+        session.close();
+        return true;
+    }
+
+    /**
+     * Expires the idle sessions that have not received a guess within the idle timeout.
+     * Runs periodically in the background; sessions with guesses in flight are kept.
+     *
+     * @param nowMillis The current time in milliseconds.
+     * @return The number of sessions expired.
+     */
+    public int expireIdleSessions(long nowMillis) {
+        if (idleTimeoutMillis <= 0) {
+            return 0;
+        }
+        int expired = 0;
+        for (Iterator<ManagedSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            ManagedSession session = it.next();
+            if (nowMillis - session.getLastAccessMillis() >= idleTimeoutMillis && session.isIdle()
+                    && sessions.remove(session.getId(), session)) {
+                sessionCount.decrementAndGet();
+                session.close();
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            logger.info("Expired " + expired + " idle sessions");
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the number of live sessions.
+     *
+     * @return The number of registered sessions.
+     */
+    public int size() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Checks if turn loops run on virtual threads.
+     *
+     * @return True if the runtime supports virtual threads and they are enabled.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Closes every session and stops the turn-loop executor and the expiry sweep.
+     */
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        for (String id : sessions.keySet()) {
+            closeSession(id);
+        }
+        executor.shutdown();
+    }
+
+    private ManagedSession register(Supplier<HeadlessEngine> engine) {
+        if (sessionCount.incrementAndGet() > maxSessions) {
+            sessionCount.decrementAndGet();
+            throw new IllegalStateException("Too many live sessions: the maximum is " + maxSessions + ".");
+        }
+        try {
+            String id = UUID.randomUUID().toString();
+            ManagedSession session = new ManagedSession(id, engine.get(), executor, System.currentTimeMillis());
+            sessions.put(id, session);
+            return session;
+        } catch (RuntimeException e) {
+            sessionCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor through reflection, so the class still
+     * loads on runtimes older than JDK 21.
+     *
+     * @return The executor, or {@code null} if virtual threads are not available.
+     */
+    public static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package org.rws.mastermind.feedback;
 
+import org.rws.mastermind.score.ScoreResult;
+
 /**
  * Defines the contract for generating feedback about the accuracy of a guess in the Mastermind game.
  */
@@ -9,7 +11,15 @@ public interface Feedback {
      * Generates feedback about the accuracy of a Mastermind guess.
      *
      * @param guess The user's guess as a string.
-     * @return A string representing feedback on the guess.
+     * @return A {@link ScoreResult} representing feedback on the guess.
+     */
+    ScoreResult generateFeedback(String guess);
+
+    /**
+     * Generates feedback for a guess that was packed while it was validated.
+     *
+     * @param packedGuess The packed guess.
+     * @return A {@link ScoreResult} holding the feedback for the guess.
      */
-    String generateFeedback(String guess);
+    ScoreResult generateFeedback(long packedGuess);
 }
\ No newline at end of file
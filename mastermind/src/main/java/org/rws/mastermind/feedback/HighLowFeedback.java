@@ -2,6 +2,7 @@ package org.rws.mastermind.feedback;
 
 import org.rws.mastermind.code.Code;
 import org.rws.mastermind.score.HighLowStrategy;
+import org.rws.mastermind.score.ScoreResult;
 import org.rws.mastermind.score.Scorer;
 
 /**
@@ -23,11 +24,21 @@ public class HighLowFeedback implements Feedback {
      * Generates high/low feedback for a given guess compared to the secret code.
      *
      * @param guess The player's guess.
-     * @return A string representing high/low hints for each position in the guess.
+     * @return A {@link ScoreResult} holding high/low hints for each position in the guess.
      */
     @Override
-    public String generateFeedback(String guess) {
+    public ScoreResult generateFeedback(String guess) {
         return scorer.score(guess);
     }
-}
 
+    /**
+     * Generates feedback for a packed guess without packing it again.
+     *
+     * @param packedGuess The packed guess.
+     * @return A {@link ScoreResult} holding the feedback for the guess.
+     */
+    @Override
+    public ScoreResult generateFeedback(long packedGuess) {
+        return scorer.scoreResult(packedGuess);
+    }
+}
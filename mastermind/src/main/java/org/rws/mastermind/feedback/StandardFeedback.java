@@ -1,7 +1,8 @@
 package org.rws.mastermind.feedback;
 
 import org.rws.mastermind.code.Code;
-import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreResult;
+import org.rws.mastermind.score.ScoreStrategyFactory;
 import org.rws.mastermind.score.Scorer;
 
 /**
@@ -17,7 +18,7 @@ public class StandardFeedback implements Feedback {
      * @param code The Code object representing the secret code.
      */
     public StandardFeedback(Code code) {
-        this.scorer = new Scorer(new BasicStrategy(), code);
+        this.scorer = new Scorer(ScoreStrategyFactory.createStrategy("standard"), code);
     }
 
     /**
@@ -25,9 +26,20 @@ public class StandardFeedback implements Feedback {
      * Feedback is provided in the form of "black pegs" and "white pegs":
      *
      * @param guess The player's guess.
-     * @return A string representing the feedback for the guess.
+     * @return A {@link ScoreResult} holding the black and white peg counts.
      */
-    public String generateFeedback(String guess) {
+    public ScoreResult generateFeedback(String guess) {
         return scorer.score(guess);
     }
+
+    /**
+     * Generates feedback for a packed guess without packing it again.
+     *
+     * @param packedGuess The packed guess.
+     * @return A {@link ScoreResult} holding the feedback for the guess.
+     */
+    @Override
+    public ScoreResult generateFeedback(long packedGuess) {
+        return scorer.scoreResult(packedGuess);
+    }
 }
@@ -1,13 +1,19 @@
 package org.rws.mastermind.models;
 
 import org.rws.mastermind.code.Code;
+import org.rws.mastermind.code.PackedCode;
 import org.rws.mastermind.feedback.Feedback;
 import org.rws.mastermind.feedback.FeedbackFactory;
+import org.rws.mastermind.score.ScoreResult;
+import org.rws.mastermind.score.ScoreStrategyFactory;
+import org.rws.mastermind.solver.CandidateSet;
+import org.rws.mastermind.solver.CandidateSetFactory;
 
 
 /**
  * The GameState class represents the state of a game in the Mastermind game.
  * It contains the secret code, the number of attempts left, and the game status.
+ * It can also keep the set of codes still consistent with the feedback given so far.
  */
 public class GameState {
     public enum GameStateEnum { PLAYING, MENU }
@@ -17,16 +23,35 @@ public class GameState {
     private boolean isGameWon = false;
     private final Feedback feedback;
     private GameStateEnum currentState;
+    private ScoreResult lastResult;
+    private final CandidateSet candidates;
     
     /**
      * The GameState class represents the state of a game in the Mastermind game.
      * It contains the secret code, the number of attempts left, and the game status.
      */
     public GameState(Code secretCode, String fbType, int numRounds) {
+        this(secretCode, fbType, numRounds, false);
+    }
+
+    /**
+     * Constructs a GameState that optionally tracks the remaining candidate codes.
+     * Tracking turns itself off for configurations above the {@link CandidateSetFactory} threshold.
+     *
+     * @param secretCode      The secret code.
+     * @param fbType          The feedback type.
+     * @param numRounds       The number of rounds.
+     * @param trackCandidates True to narrow a candidate set after each guess.
+     */
+    public GameState(Code secretCode, String fbType, int numRounds, boolean trackCandidates) {
         this.secretCode = secretCode;
         this.attemptsLeft = numRounds;
         this.feedback = FeedbackFactory.createFeedback(secretCode, fbType);
         this.currentState = GameStateEnum.PLAYING;
+        this.candidates = trackCandidates
+                ? CandidateSetFactory.createCandidateSet(ScoreStrategyFactory.createStrategy(fbType),
+                        secretCode.getLength(), secretCode.getNumVars())
+                : null;
     }
 
     /**
@@ -36,6 +61,20 @@ public class GameState {
      * @return A string representing the feedback for the guess.
      */
     public String processGuess(String guess) {
+        // Only pack guesses that will be scored; the packed overload answers the rest.
+        if (currentState != GameStateEnum.PLAYING || isGameOver()) {
+            return processGuess(-1L);
+        }
+        return processGuess(PackedCode.pack(guess, secretCode.getValidCharacters()));
+    }
+
+    /**
+     * Processes a guess that was packed while it was validated and returns feedback.
+     *
+     * @param packedGuess The packed guess, as returned by {@link Validator#encode(CharSequence)}.
+     * @return A string representing the feedback for the guess.
+     */
+    public String processGuess(long packedGuess) {
         if (currentState == GameStateEnum.MENU) {
             return "#";
         }
@@ -43,19 +82,87 @@ public class GameState {
             if (isGameOver()) {
                 return "Game is over.";
             }
-            
-            decrementAttempts();
-    
-            if (secretCode.matches(guess)) {
-                setGameWon(true);
+
+            ScoreResult result = submitGuess(packedGuess);
+
+            if (result.isSolved()) {
                 return "Congratulations! You've cracked the code!";
             }
-    
-            return "Feedback: " + feedback.generateFeedback(guess);
+
+            return "Feedback: " + result;
         }
         return "Invalid game state.";
     }
 
+    /**
+     * Scores the player's guess and updates the game state without rendering any text.
+     *
+     * @param guess The string representing the player's guess.
+     * @return The {@link ScoreResult} for the guess, or {@code null} if the game is not accepting guesses.
+     */
+    public ScoreResult submitGuess(String guess) {
+        if (currentState != GameStateEnum.PLAYING || isGameOver()) {
+            return null;
+        }
+        return submitGuess(PackedCode.pack(guess, secretCode.getValidCharacters()));
+    }
+
+    /**
+     * Scores a guess that was packed while it was validated and updates the game state
+     * without rendering any text.
+     *
+     * @param packedGuess The packed guess, as returned by {@link Validator#encode(CharSequence)}.
+     * @return The {@link ScoreResult} for the guess, or {@code null} if the game is not accepting guesses.
+     */
+    public ScoreResult submitGuess(long packedGuess) {
+        if (currentState != GameStateEnum.PLAYING || isGameOver()) {
+            return null;
+        }
+
+        decrementAttempts();
+
+        lastResult = feedback.generateFeedback(packedGuess);
+        if (lastResult.isSolved()) {
+            setGameWon(true);
+        }
+        if (candidates != null) {
+            candidates.retainMatching(packedGuess, lastResult.getValue());
+        }
+        return lastResult;
+    }
+
+    /**
+     * Gets the codes still consistent with the feedback, as a starting set for bots and hints.
+     *
+     * @return The candidate set, or {@code null} if candidates are not tracked.
+     */
+    public CandidateSet getCandidates() { return candidates; }
+
+    /**
+     * Gets the number of codes still consistent with the feedback.
+     *
+     * @return The number of remaining possibilities, or {@code -1} if candidates are not tracked.
+     */
+    public long getRemainingCandidates() {
+        return candidates != null ? candidates.cardinality() : -1L;
+    }
+
+    /**
+     * Gets the memory used to track candidates.
+     *
+     * @return The number of bytes held by the candidate set, or {@code 0} if candidates are not tracked.
+     */
+    public long getCandidateMemoryBytes() {
+        return candidates != null ? candidates.memoryBytes() : 0L;
+    }
+
+    /**
+     * Gets the result of the most recent guess.
+     *
+     * @return The last {@link ScoreResult}, or {@code null} if no guess has been made.
+     */
+    public ScoreResult getLastResult() { return lastResult; }
+
     /**
      * Gets the game state.
      */
@@ -1,22 +1,51 @@
 package org.rws.mastermind.models;
 
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.Arrays;
+
 /**
  * The Validator class provides methods to validate guesses in the Mastermind game.
  * It checks if the guess has the correct length and contains only valid characters.
+ *
+ * <p>
+ * A lookup table from character to symbol index is built once per settings, so validating a
+ * guess is one pass over its characters that also produces its packed form (see
+ * {@link #encode(CharSequence)}), without allocating.
+ * </p>
+ *
+ * <p>
+ * Each game session has its own validator. Its rules are final and set in the constructor,
+ * so a validator can be shared between threads without locking.
+ * </p>
  */
-public class Validator {
-    private static int codeLength;
-    private static String validCharacters;
+public final class Validator {
+    private final int codeLength;
+    private final String validCharacters;
+    private final byte[] symbols;
 
     /**
      * Constructs a Validator object with the specified code length and valid characters.
      *
      * @param codeLength The length of the code.
      * @param validCharacters The string representing the valid characters for the code.
+     * @throws IllegalArgumentException if codes of this configuration cannot be packed.
      */
     public Validator(int codeLength, String validCharacters) {
-        Validator.codeLength = codeLength;
-        Validator.validCharacters = validCharacters;
+        if (codeLength < 1 || codeLength > PackedCode.MAX_LENGTH
+                || validCharacters.isEmpty() || validCharacters.length() > PackedCode.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Unsupported configuration: length " + codeLength
+                    + " over " + validCharacters.length() + " symbols.");
+        }
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+
+        int maxChar = validCharacters.chars().max().orElse(-1);
+        this.symbols = new byte[maxChar + 1];
+        Arrays.fill(symbols, (byte) -1);
+        for (int i = validCharacters.length() - 1; i >= 0; i--) {
+            symbols[validCharacters.charAt(i)] = (byte) i;
+        }
     }
 
     /**
@@ -27,20 +56,51 @@ public class Validator {
      * @return True if the guess is valid, false otherwise.
      */
     public boolean isValidGuess(String guess) {
-        if (guess == null) {
-            return false;
+        return encode(guess) >= 0;
+    }
+
+    /**
+     * Validates a guess and packs it in the same pass.
+     * Each character is looked up in the table; the first invalid one stops the scan.
+     *
+     * @param guess The characters of the player's guess.
+     * @return The packed guess, or {@code -1} if the guess is invalid.
+     * @see PackedCode#pack(CharSequence, String)
+     */
+    public long encode(CharSequence guess) {
+        if (guess == null || guess.length() != codeLength) {
+            return -1L;
         }
-        
-        if (guess.length() != codeLength) {
-            return false;
+
+        long packed = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            char c = guess.charAt(i);
+            int symbol = c < symbols.length ? symbols[c] : -1;
+            if (symbol < 0) {
+                return -1L;
+            }
+            packed |= (long) symbol << (i * PackedCode.BITS_PER_POSITION);
         }
+        return packed;
+    }
 
-        for (char c : guess.toCharArray()) {
-            if (!validCharacters.contains(String.valueOf(c))) {
+    /**
+     * Checks if a packed guess, such as one chosen by a solver, is valid.
+     * A valid packed guess has no bits above the last position and a symbol index below the
+     * number of valid characters at every position.
+     *
+     * @param packed The packed guess.
+     * @return True if the guess is valid, false otherwise.
+     */
+    public boolean isValidPacked(long packed) {
+        if (packed < 0 || packed >>> (codeLength * PackedCode.BITS_PER_POSITION) != 0) {
+            return false;
+        }
+        for (int i = 0; i < codeLength; i++) {
+            if (PackedCode.symbolAt(packed, i) >= validCharacters.length()) {
                 return false;
             }
         }
-
         return true;
     }
-}
\ No newline at end of file
+}
@@ -1,68 +1,242 @@
 package org.rws.mastermind.score;
 
+import org.rws.mastermind.code.PackedCode;
+
 public class BasicStrategy implements ScoreStrategy {
+    private static final int PEG_BITS = 4;
+    private static final int PEG_MASK = 0xF;
+
+    /** The largest number of valid characters whose counts fit one byte each in a long. */
+    static final int BYTE_LANES = 8;
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long NIBBLE_LOW_BITS = 0x1111111111111111L;
 
     /**
-     * Scores a guess compared to the secret code.
-     * The result array contains two elements:
-     * - result[0]: The number of correct characters in the correct position (black pegs).
-     * - result[1]: The number of correct characters in the wrong position (white pegs).
+     * Gets the feedback type.
      *
-     * @param guess The string representing the player's guess.
+     * @return {@code "standard"}.
+     */
+    @Override
+    public String getType() {
+        return "standard";
+    }
+
+    /**
+     * Scores a packed guess compared to the packed secret code.
+     * Black pegs come from a nibble-wise equality mask and white pegs from per-symbol
+     * counters packed into a single long, so the method performs no heap allocation.
      *
-     * @return An array of two integers representing the score.
+     * @param guess      The packed guess.
+     * @param secret     The packed secret code.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return The score packed as {@code black * 16 + white}.
      */
     @Override
-    public String score(String guess, String secretCode, int varLength) {
-        int[] result = new int[2];
+    public int score(long guess, long secret, int codeLength, int numVars) {
+        if (numVars <= BYTE_LANES) {
+            return score(guess, symbolCounts(guess, codeLength), secret, codeLength);
+        }
+
+        long guessCounts = 0L;
+        long secretCounts = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            guessCounts += 1L << (PackedCode.symbolAt(guess, i) * PackedCode.BITS_PER_POSITION);
+            secretCounts += 1L << (PackedCode.symbolAt(secret, i) * PackedCode.BITS_PER_POSITION);
+        }
 
-        char[] code = secretCode.toCharArray();
-        char[] currentGuess = guess.toCharArray();
+        int common = 0;
+        for (int v = 0; v < numVars; v++) {
+            int shift = v * PackedCode.BITS_PER_POSITION;
+            common += Math.min((int) (guessCounts >>> shift) & PEG_MASK, (int) (secretCounts >>> shift) & PEG_MASK);
+        }
 
-        int[] codeHash = createHash(code, varLength);
-        int[] guessHash = createHash(currentGuess, varLength);
+        int black = blackPegs(guess, secret, codeLength);
+        return packScore(black, common - black);
+    }
 
-        for (int i = 0; i < varLength; i++) {
-            result[1] += Math.min(codeHash[i], guessHash[i]);
+    /**
+     * Scores a packed guess against many candidates.
+     * The guess symbol counts are computed once and reused for every candidate.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, byte[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Byte.SIZE);
+        if (numVars > BYTE_LANES) {
+            ScoreStrategy.super.scoreBatch(guess, candidates, offset, count, out, codeLength, numVars);
+            return;
         }
 
-        int index = 0;
-        for (char ch : code) {
-            if (ch == currentGuess[index]) {
-                result[0] += 1;
-            }
-            index++;
+        long guessCounts = symbolCounts(guess, codeLength);
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) score(guess, guessCounts, candidates[offset + i], codeLength);
         }
+    }
 
-        result[1] -= result[0];
+    /**
+     * Scores a packed guess against many candidates.
+     * The guess symbol counts are computed once and reused for every candidate.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, short[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Short.SIZE);
+        if (numVars > BYTE_LANES) {
+            ScoreStrategy.super.scoreBatch(guess, candidates, offset, count, out, codeLength, numVars);
+            return;
+        }
 
-        return String.format(
-                "%d black peg(s), %d white peg(s)",
-                result[0],
-                result[1]
-        );
+        long guessCounts = symbolCounts(guess, codeLength);
+        for (int i = 0; i < count; i++) {
+            out[i] = (short) score(guess, guessCounts, candidates[offset + i], codeLength);
+        }
     }
+
     /**
-     * Creates a hash array from the given guess.
-     * The hash array represents the frequency of each character in the guess.
+     * Scores a candidate against a guess whose symbol counts are already known.
+     * Counts are held one byte per symbol, so the per-symbol minimum is taken for
+     * all symbols at once: biasing each byte by 128 lets the subtraction run without
+     * borrows, and bit 7 of each byte then selects the smaller count.
+     * Only valid for up to {@value #BYTE_LANES} valid characters.
      *
-     * @param guess The character array representing the player's guess.
-     * @param varLength The length of the hash array.
-     * @return An int array representing the frequency of each character in the guess.
+     * @param guess       The packed guess.
+     * @param guessCounts The guess symbol counts from {@link #symbolCounts(long, int)}.
+     * @param candidate   The packed candidate code.
+     * @param codeLength  The length of the code.
+     * @return The score packed as {@code black * 16 + white}.
      */
-    public int[] createHash(char[] guess, int varLength) {
-        // Initialize an array of size 'vars' with all elements as 0
-        int[] hash = new int[varLength];
+    static int score(long guess, long guessCounts, long candidate, int codeLength) {
+        long candidateCounts = symbolCounts(candidate, codeLength);
 
-        // Iterate over the guess array
-        for (char ch : guess) {
-            // Convert the character to an integer (e.g., '0' -> 0, '1' -> 1, etc.)
-            int index = ch - '0' - 1;
+        long atLeast = ((((guessCounts | HIGH_BITS) - candidateCounts) & HIGH_BITS) >>> 7) * 0xFFL;
+        long minimum = (candidateCounts & atLeast) | (guessCounts & ~atLeast);
+        int common = (int) ((minimum * LOW_BITS) >>> 56);
+
+        int black = blackPegs(guess, candidate, codeLength);
+        return packScore(black, common - black);
+    }
 
-            // Increment the value at the index specified by guess[ch]
-            hash[index]++;
+    /**
+     * Counts the symbols of a packed code, one byte per symbol.
+     * Only valid for up to {@value #BYTE_LANES} valid characters.
+     *
+     * @param packed     The packed code.
+     * @param codeLength The length of the code.
+     * @return The symbol counts, byte {@code v} holding the count of symbol {@code v}.
+     */
+    static long symbolCounts(long packed, int codeLength) {
+        long counts = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            counts += 1L << (PackedCode.symbolAt(packed, i) * Byte.SIZE);
         }
+        return counts;
+    }
 
-        return hash; // Return the resulting hash array
+    /**
+     * Counts the positions where two packed codes hold the same symbol.
+     * Each nibble of the XOR is folded onto its low bit; a clear low bit marks an equal position.
+     *
+     * @param guess      The packed guess.
+     * @param secret     The packed secret code.
+     * @param codeLength The length of the code.
+     * @return The number of black pegs.
+     */
+    static int blackPegs(long guess, long secret, int codeLength) {
+        long difference = guess ^ secret;
+        long folded = difference | (difference >>> 1);
+        folded |= folded >>> 2;
+        long positions = (1L << (codeLength * PackedCode.BITS_PER_POSITION)) - 1;
+        return Long.bitCount(~folded & NIBBLE_LOW_BITS & positions);
+    }
+
+    /**
+     * Renders a packed score as black and white peg text.
+     *
+     * @param score           The packed score.
+     * @param guess           The packed guess (unused by this strategy).
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters.
+     * @return A string such as {@code "2 black peg(s), 1 white peg(s)"}.
+     */
+    @Override
+    public String render(int score, long guess, int codeLength, String validCharacters) {
+        return blackPegs(score) + " black peg(s), " + whitePegs(score) + " white peg(s)";
+    }
+
+    /**
+     * Gets the bound on packed scores, reached when every position is a black peg.
+     *
+     * @param codeLength The length of the code.
+     * @return The exclusive upper bound on packed scores.
+     */
+    @Override
+    public int outcomeBound(int codeLength) {
+        return packScore(codeLength, 0) + 1;
+    }
+
+    /**
+     * Gets the number of black pegs in a packed score.
+     *
+     * @param score      The packed score.
+     * @param codeLength The length of the code.
+     * @return The number of black pegs.
+     */
+    @Override
+    public int exactMatches(int score, int codeLength) {
+        return blackPegs(score);
+    }
+
+    /**
+     * Peg counts only compare symbols for equality, so relabelling symbols keeps them.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean isSymbolSymmetric() {
+        return true;
+    }
+
+    /**
+     * Peg counts do not say which positions matched, so permuting positions keeps them.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean isPositionSymmetric() {
+        return true;
+    }
+
+    /**
+     * Packs black and white peg counts into a single score.
+     *
+     * @param black The number of black pegs.
+     * @param white The number of white pegs.
+     * @return The packed score.
+     */
+    public static int packScore(int black, int white) {
+        return (black << PEG_BITS) | white;
+    }
+
+    /**
+     * Gets the number of black pegs from a packed score.
+     *
+     * @param score The packed score.
+     * @return The number of black pegs.
+     */
+    public static int blackPegs(int score) {
+        return score >>> PEG_BITS;
+    }
+
+    /**
+     * Gets the number of white pegs from a packed score.
+     *
+     * @param score The packed score.
+     * @return The number of white pegs.
+     */
+    public static int whitePegs(int score) {
+        return score & PEG_MASK;
     }
-}
\ No newline at end of file
+}
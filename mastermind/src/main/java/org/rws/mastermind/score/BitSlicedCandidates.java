@@ -0,0 +1,264 @@
+package org.rws.mastermind.score;
+
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.Arrays;
+
+/**
+ * The {@code BitSlicedCandidates} class stores candidate codes bit-sliced, 64 codes per block,
+ * for standard (black and white peg) feedback.
+ *
+ * <p>
+ * Within a block, bit {@code j} of every plane belongs to candidate {@code j}. Each position
+ * has one plane per symbol bit, and each valid character has one plane per bit of its
+ * count in the candidate. Scoring a guess against a block then works on 64 candidates per
+ * instruction:
+ * <ul>
+ *   <li>Black pegs: for each position, equality against the guess symbol is an AND
+ *       of planes or their complements, and the resulting 64-bit match masks are added into
+ *       a bit-sliced counter.</li>
+ *   <li>Black plus white pegs: {@code min(g, c)} equals the number of thresholds
+ *       {@code t = 1..g} with {@code c >= t}, so each guess symbol contributes one bit-sliced
+ *       comparison of a count plane with a constant.</li>
+ * </ul>
+ * Filtering by a known score compares both counters with constants and never leaves the
+ * bit-sliced form, so {@link #countMatches(long, int)} runs at roughly popcount speed.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link BasicStrategy#scoreBatch}, this layout works for up to
+ * {@value PackedCode#MAX_SYMBOLS} valid characters. Instances are immutable once constructed.
+ * </p>
+ */
+public final class BitSlicedCandidates {
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int COUNTER_BITS = 4;
+
+    private final long[] candidates;
+    private final long[] planes;
+    private final int size;
+    private final int codeLength;
+    private final int numVars;
+    private final int symbolBits;
+    private final int countBits;
+    private final int planesPerBlock;
+
+    /**
+     * Constructs a {@code BitSlicedCandidates} from packed codes.
+     *
+     * @param candidates The packed candidate codes.
+     * @param offset     The index of the first candidate to copy.
+     * @param count      The number of candidates to copy.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     */
+    public BitSlicedCandidates(long[] candidates, int offset, int count, int codeLength, int numVars) {
+        this.candidates = new long[count];
+        System.arraycopy(candidates, offset, this.candidates, 0, count);
+        this.size = count;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.symbolBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(numVars - 1));
+        this.countBits = Integer.SIZE - Integer.numberOfLeadingZeros(codeLength);
+        this.planesPerBlock = codeLength * symbolBits + numVars * countBits;
+        this.planes = new long[blockCount() * planesPerBlock];
+
+        int[] counts = new int[numVars];
+        for (int i = 0; i < count; i++) {
+            long packed = this.candidates[i];
+            long bit = 1L << i;
+            int base = (i >>> BLOCK_BITS) * planesPerBlock;
+
+            Arrays.fill(counts, 0);
+            for (int p = 0; p < codeLength; p++) {
+                int symbol = PackedCode.symbolAt(packed, p);
+                counts[symbol]++;
+                for (int k = 0; k < symbolBits; k++) {
+                    if ((symbol >>> k & 1) != 0) {
+                        planes[base + p * symbolBits + k] |= bit;
+                    }
+                }
+            }
+
+            int countBase = base + codeLength * symbolBits;
+            for (int v = 0; v < numVars; v++) {
+                for (int k = 0; k < countBits; k++) {
+                    if ((counts[v] >>> k & 1) != 0) {
+                        planes[countBase + v * countBits + k] |= bit;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of candidates.
+     *
+     * @return The number of candidates.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a candidate in its packed form.
+     *
+     * @param index The candidate index.
+     * @return The packed candidate code.
+     */
+    public long get(int index) {
+        return candidates[index];
+    }
+
+    /**
+     * Scores a packed guess against every candidate.
+     * {@code out[i]} receives the packed standard score of candidate {@code i}, as
+     * {@link BasicStrategy#score(long, long, int, int)} would compute it.
+     *
+     * @param guess The packed guess.
+     * @param out   The array receiving the packed scores, at least {@link #size()} long.
+     */
+    public void scoreBatch(long guess, byte[] out) {
+        int[] guessCounts = guessCounts(guess);
+        long[] counters = new long[2 * COUNTER_BITS];
+        for (int block = 0; block < blockCount(); block++) {
+            scoreBlock(guess, guessCounts, block, counters);
+
+            int first = block << BLOCK_BITS;
+            int end = Math.min(size, first + BLOCK_SIZE);
+            for (int i = first; i < end; i++) {
+                int j = i - first;
+                int black = 0;
+                int common = 0;
+                for (int k = 0; k < COUNTER_BITS; k++) {
+                    black |= (int) (counters[k] >>> j & 1) << k;
+                    common |= (int) (counters[COUNTER_BITS + k] >>> j & 1) << k;
+                }
+                out[i] = (byte) BasicStrategy.packScore(black, common - black);
+            }
+        }
+    }
+
+    /**
+     * Marks the candidates that would give a score for a guess.
+     * Bit {@code i & 63} of {@code masks[i >>> 6]} is set if candidate {@code i} matches.
+     *
+     * @param guess The packed guess.
+     * @param score The packed standard score.
+     * @param masks The array receiving one mask per block of 64 candidates.
+     * @return The number of matching candidates.
+     */
+    public int matches(long guess, int score, long[] masks) {
+        int black = BasicStrategy.blackPegs(score);
+        int common = black + BasicStrategy.whitePegs(score);
+        int[] guessCounts = guessCounts(guess);
+        long[] counters = new long[2 * COUNTER_BITS];
+
+        int matching = 0;
+        for (int block = 0; block < blockCount(); block++) {
+            scoreBlock(guess, guessCounts, block, counters);
+            long mask = validMask(block);
+            for (int k = 0; k < COUNTER_BITS; k++) {
+                mask &= (black >>> k & 1) != 0 ? counters[k] : ~counters[k];
+                mask &= (common >>> k & 1) != 0 ? counters[COUNTER_BITS + k] : ~counters[COUNTER_BITS + k];
+            }
+            if (masks != null) {
+                masks[block] = mask;
+            }
+            matching += Long.bitCount(mask);
+        }
+        return matching;
+    }
+
+    /**
+     * Counts the candidates that would give a score for a guess.
+     *
+     * @param guess The packed guess.
+     * @param score The packed standard score.
+     * @return The number of matching candidates.
+     */
+    public int countMatches(long guess, int score) {
+        return matches(guess, score, null);
+    }
+
+    /**
+     * Gets the number of 64-candidate blocks, and so the length of a mask array.
+     *
+     * @return The number of blocks.
+     */
+    public int blockCount() {
+        return (size + BLOCK_SIZE - 1) >>> BLOCK_BITS;
+    }
+
+    /**
+     * Computes the black peg and common symbol counters of one block.
+     * {@code counters[0..3]} receive the black count planes, least significant first,
+     * and {@code counters[4..7]} the black plus white count planes.
+     */
+    private void scoreBlock(long guess, int[] guessCounts, int block, long[] counters) {
+        Arrays.fill(counters, 0L);
+        int base = block * planesPerBlock;
+
+        for (int p = 0; p < codeLength; p++) {
+            int symbol = PackedCode.symbolAt(guess, p);
+            long equal = -1L;
+            for (int k = 0; k < symbolBits; k++) {
+                long plane = planes[base + p * symbolBits + k];
+                equal &= (symbol >>> k & 1) != 0 ? plane : ~plane;
+            }
+            increment(counters, 0, equal);
+        }
+
+        int countBase = base + codeLength * symbolBits;
+        for (int v = 0; v < numVars; v++) {
+            for (int t = 1; t <= guessCounts[v]; t++) {
+                increment(counters, COUNTER_BITS, atLeast(countBase + v * countBits, t));
+            }
+        }
+    }
+
+    /**
+     * Compares a bit-sliced count with a constant, most significant bit first.
+     *
+     * @return A mask of the candidates whose count is at least {@code threshold}.
+     */
+    private long atLeast(int base, int threshold) {
+        long greater = 0L;
+        long equal = -1L;
+        for (int k = countBits - 1; k >= 0; k--) {
+            long plane = planes[base + k];
+            if ((threshold >>> k & 1) != 0) {
+                equal &= plane;
+            } else {
+                greater |= equal & plane;
+                equal &= ~plane;
+            }
+        }
+        return greater | equal;
+    }
+
+    /**
+     * Adds a one-bit mask into a 4-bit bit-sliced counter with a ripple carry.
+     */
+    private static void increment(long[] counters, int base, long carry) {
+        for (int k = 0; k < COUNTER_BITS && carry != 0; k++) {
+            long next = counters[base + k] & carry;
+            counters[base + k] ^= carry;
+            carry = next;
+        }
+    }
+
+    private int[] guessCounts(long guess) {
+        int[] counts = new int[numVars];
+        for (int p = 0; p < codeLength; p++) {
+            counts[PackedCode.symbolAt(guess, p)]++;
+        }
+        return counts;
+    }
+
+    private long validMask(int block) {
+        int remaining = size - (block << BLOCK_BITS);
+        return remaining >= BLOCK_SIZE ? -1L : (1L << remaining) - 1;
+    }
+}
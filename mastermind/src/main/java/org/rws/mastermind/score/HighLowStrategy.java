@@ -1,28 +1,174 @@
 package org.rws.mastermind.score;
 
 public class HighLowStrategy implements ScoreStrategy {
+    /** Per-position hint: the guessed character is correct. */
+    public static final int CORRECT = 0;
+    /** Per-position hint: the secret character is higher than the guess. */
+    public static final int HIGHER = 1;
+    /** Per-position hint: the secret character is lower than the guess. */
+    public static final int LOWER = 2;
 
+    private static final int HINT_BITS = 2;
+    private static final int HINT_MASK = 0x3;
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long BIAS = 0x1010101010101010L;
+
+    /**
+     * Gets the feedback type.
+     *
+     * @return {@code "hl"}.
+     */
     @Override
-    public String score(String guess, String secretCode, int varLength) {
-        StringBuilder feedback = new StringBuilder();
+    public String getType() {
+        return "hl";
+    }
+
+    /**
+     * Scores a packed guess compared to the packed secret code with the branch-free
+     * {@link #hints(long, long)}. Each position contributes a 2-bit hint ({@link #CORRECT},
+     * {@link #HIGHER} or {@link #LOWER}); symbols are compared by their order in the valid characters.
+     *
+     * @param guess      The packed guess.
+     * @param secret     The packed secret code.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return The per-position hints packed two bits per position.
+     */
+    @Override
+    public int score(long guess, long secret, int codeLength, int numVars) {
+        return hints(guess, secret);
+    }
+
+    /**
+     * Scores a packed guess against many candidates with the low half of the
+     * {@link #hints(long, long)} kernel. Batch outputs never hold more than eight positions, so
+     * the guess is spread to one position per byte once for the whole batch and only the first
+     * eight positions of each candidate are compared.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, byte[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Byte.SIZE);
+        long guessLow = spread(guess);
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) halfHints(guessLow, spread(candidates[offset + i]));
+        }
+    }
+
+    /**
+     * Scores a packed guess against many candidates with the low half of the
+     * {@link #hints(long, long)} kernel. Batch outputs never hold more than eight positions, so
+     * the guess is spread to one position per byte once for the whole batch and only the first
+     * eight positions of each candidate are compared.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, short[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Short.SIZE);
+        long guessLow = spread(guess);
+        for (int i = 0; i < count; i++) {
+            out[i] = (short) halfHints(guessLow, spread(candidates[offset + i]));
+        }
+    }
 
-        for (int i = 0; i < guess.length(); i++) {
-            char guessChar = guess.charAt(i);
-            char secretChar = secretCode.charAt(i);
+    /**
+     * Computes the packed hints for all positions at once.
+     * Each half of the code is spread to one position per byte, the secret is biased by
+     * 16 per byte so the subtraction never borrows across bytes, and bit 4 of each byte
+     * then tells whether the secret symbol is at least the guessed one. Unused positions
+     * are zero in both codes and therefore report {@link #CORRECT}.
+     *
+     * @param guess  The packed guess.
+     * @param secret The packed secret code.
+     * @return The per-position hints packed two bits per position.
+     */
+    static int hints(long guess, long secret) {
+        int low = halfHints(spread(guess), spread(secret));
+        int high = halfHints(spread(guess >>> 32), spread(secret >>> 32));
+        return low | (high << 16);
+    }
 
-            if (guessChar == secretChar) {
-                feedback.append("correct ");
-            } else if (guessChar < secretChar) {
-                feedback.append("higher ");
-            } else {
-                feedback.append("lower ");
+    private static int halfHints(long guessBytes, long secretBytes) {
+        long atLeast = (((secretBytes | BIAS) - guessBytes) >>> 4) & LOW_BITS;
+        long difference = guessBytes ^ secretBytes;
+        long unequal = (difference | (difference >>> 1) | (difference >>> 2) | (difference >>> 3)) & LOW_BITS;
+        long hints = (atLeast & unequal) | ((atLeast ^ LOW_BITS) << 1);
+
+        hints = (hints | (hints >>> 6)) & 0x000F000F000F000FL;
+        hints = (hints | (hints >>> 12)) & 0x000000FF000000FFL;
+        return (int) ((hints | (hints >>> 24)) & 0xFFFFL);
+    }
+
+    private static long spread(long nibbles) {
+        long x = nibbles & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        return (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+    }
+
+    /**
+     * Renders packed per-position hints as high/low feedback.
+     *
+     * @param score           The packed hints.
+     * @param guess           The packed guess (unused by this strategy).
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters.
+     * @return A string such as {@code "correct | higher | lower | correct"}.
+     */
+    @Override
+    public String render(int score, long guess, int codeLength, String validCharacters) {
+        StringBuilder feedback = new StringBuilder();
+        for (int i = 0; i < codeLength; i++) {
+            switch (hintAt(score, i)) {
+                case HIGHER -> feedback.append("higher");
+                case LOWER -> feedback.append("lower");
+                default -> feedback.append("correct");
+            }
+            if (i < codeLength - 1) {
+                feedback.append(" | ");
             }
+        }
+        return feedback.toString();
+    }
 
-            if (i < guess.length() - 1) {
-                feedback.append("| "); // Add a separator for readability
+    /**
+     * Gets the bound on packed scores, two bits per position.
+     *
+     * @param codeLength The length of the code.
+     * @return The exclusive upper bound on packed scores.
+     */
+    @Override
+    public int outcomeBound(int codeLength) {
+        return 1 << (codeLength * HINT_BITS);
+    }
+
+    /**
+     * Gets the number of positions marked {@link #CORRECT}.
+     *
+     * @param score      The packed hints.
+     * @param codeLength The length of the code.
+     * @return The number of correct positions.
+     */
+    @Override
+    public int exactMatches(int score, int codeLength) {
+        int correct = 0;
+        for (int i = 0; i < codeLength; i++) {
+            if (hintAt(score, i) == CORRECT) {
+                correct++;
             }
         }
+        return correct;
+    }
 
-        return feedback.toString().trim();
+    /**
+     * Gets the hint for a single position from packed hints.
+     *
+     * @param score    The packed hints.
+     * @param position The zero-based position.
+     * @return One of {@link #CORRECT}, {@link #HIGHER} or {@link #LOWER}.
+     */
+    public static int hintAt(int score, int position) {
+        return (score >>> (position * HINT_BITS)) & HINT_MASK;
     }
 }
\ No newline at end of file
@@ -1,24 +1,146 @@
 package org.rws.mastermind.score;
 
+import org.rws.mastermind.code.PackedCode;
+
 public class PatternStrategy implements ScoreStrategy {
 
     /**
-     * Generates a hint based on the player's guess compared to the secret code.
-     * The hint shows correct characters in their correct positions and underscores for incorrect characters.
+     * Gets the feedback type.
+     *
+     * @return {@code "pattern"}.
+     */
+    @Override
+    public String getType() {
+        return "pattern";
+    }
+
+    /**
+     * Scores a packed guess compared to the packed secret code.
+     * Bit {@code i} of the result is set when position {@code i} is correct.
+     *
+     * @param guess      The packed guess.
+     * @param secret     The packed secret code.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return A bitmask of the correct positions.
+     */
+    @Override
+    public int score(long guess, long secret, int codeLength, int numVars) {
+        int mask = 0;
+        for (int i = 0; i < codeLength; i++) {
+            if (PackedCode.symbolAt(guess, i) == PackedCode.symbolAt(secret, i)) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Scores a packed guess against many candidates.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, byte[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Byte.SIZE);
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) matchMask(guess ^ candidates[offset + i], codeLength);
+        }
+    }
+
+    /**
+     * Scores a packed guess against many candidates.
+     */
+    @Override
+    public void scoreBatch(long guess, long[] candidates, int offset, int count, short[] out,
+                           int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Short.SIZE);
+        for (int i = 0; i < count; i++) {
+            out[i] = (short) matchMask(guess ^ candidates[offset + i], codeLength);
+        }
+    }
+
+    /**
+     * Converts the XOR of two packed codes into a bitmask of equal positions.
+     * Each nibble is folded onto its low bit, so a zero low bit marks an equal position.
+     *
+     * @param difference The XOR of two packed codes.
+     * @param codeLength The length of the code.
+     * @return A bitmask with bit {@code i} set when position {@code i} is equal.
+     */
+    static int matchMask(long difference, int codeLength) {
+        long folded = difference | (difference >>> 1);
+        folded |= folded >>> 2;
+        long equal = ~folded;
+
+        int mask = 0;
+        for (int i = 0; i < codeLength; i++) {
+            mask |= (int) ((equal >>> (i * PackedCode.BITS_PER_POSITION)) & 1L) << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Renders a positional bitmask as a pattern hint.
      *
-     * @param guess The string representing the player's guess.
-     * @return A string representing the hint.
+     * @param score           The bitmask of correct positions.
+     * @param guess           The packed guess, used to show the correct characters.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters used to pack the guess.
+     * @return A string such as {@code "Hint: 1_3_"}.
      */
     @Override
-    public String score(String guess, String secretCode, int varLength) {
-        StringBuilder hint = new StringBuilder();
-        for (int i = 0; i < guess.length(); i++) {
-            if (i < secretCode.length() && guess.charAt(i) == secretCode.charAt(i)) {
-                hint.append(guess.charAt(i)); // Correct character
+    public String render(int score, long guess, int codeLength, String validCharacters) {
+        StringBuilder hint = new StringBuilder("Hint: ");
+        for (int i = 0; i < codeLength; i++) {
+            if ((score & (1 << i)) != 0) {
+                hint.append(validCharacters.charAt(PackedCode.symbolAt(guess, i)));
             } else {
-                hint.append("_"); // Placeholder for incorrect character
+                hint.append('_');
             }
         }
-        return "Hint: " + hint;
+        return hint.toString();
+    }
+
+    /**
+     * Gets the bound on packed scores, one bit per position.
+     *
+     * @param codeLength The length of the code.
+     * @return The exclusive upper bound on packed scores.
+     */
+    @Override
+    public int outcomeBound(int codeLength) {
+        return 1 << codeLength;
+    }
+
+    /**
+     * Gets the number of correct positions in a bitmask.
+     *
+     * @param score      The bitmask of correct positions.
+     * @param codeLength The length of the code.
+     * @return The number of correct positions.
+     */
+    @Override
+    public int exactMatches(int score, int codeLength) {
+        return Integer.bitCount(score);
+    }
+
+    /**
+     * Pattern hints show the guessed characters, so they depend on the guess.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean rendersGuess() {
+        return true;
+    }
+
+    /**
+     * Pattern hints only compare symbols for equality, so relabelling symbols keeps them.
+     *
+     * @return Always true.
+     */
+    @Override
+    public boolean isSymbolSymmetric() {
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package org.rws.mastermind.score;
+
+/**
+ * The {@code ScoreResult} class is the typed outcome of scoring a guess.
+ *
+ * <p>
+ * It carries the packed score produced by a {@link ScoreStrategy} so that callers
+ * such as bots or analytics can read the outcome directly. The feedback text is
+ * only rendered the first time {@link #toString()} is called.
+ * </p>
+ */
+public final class ScoreResult {
+    private final ScoreStrategy strategy;
+    private final int value;
+    private final long guess;
+    private final int codeLength;
+    private final String validCharacters;
+    private String rendered;
+
+    /**
+     * Constructs a {@code ScoreResult}.
+     *
+     * @param strategy        The strategy that produced the score.
+     * @param value           The packed score.
+     * @param guess           The packed guess, used for rendering.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     */
+    public ScoreResult(ScoreStrategy strategy, int value, long guess, int codeLength, String validCharacters) {
+        this.strategy = strategy;
+        this.value = value;
+        this.guess = guess;
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+    }
+
+    /**
+     * Gets the packed score, in the layout defined by the strategy.
+     *
+     * @return The packed score.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the strategy that produced the score.
+     *
+     * @return The score strategy.
+     */
+    public ScoreStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the number of positions that match the secret code.
+     *
+     * @return The number of exact matches.
+     */
+    public int getExactMatches() {
+        return strategy.exactMatches(value, codeLength);
+    }
+
+    /**
+     * Checks if the guess matched the secret code in every position.
+     *
+     * @return True if the code was cracked.
+     */
+    public boolean isSolved() {
+        return getExactMatches() == codeLength;
+    }
+
+    /**
+     * Renders the feedback text, caching it for later calls.
+     *
+     * @return A string representing the feedback.
+     */
+    @Override
+    public String toString() {
+        String text = rendered;
+        if (text == null) {
+            text = strategy.render(value, guess, codeLength, validCharacters);
+            rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Two results are equal when they come from the same type of strategy and
+     * carry the same packed score for the same code length.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScoreResult other)) {
+            return false;
+        }
+        return value == other.value
+                && codeLength == other.codeLength
+                && strategy.getType().equals(other.strategy.getType());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * strategy.getType().hashCode() + codeLength) + value;
+    }
+}
@@ -0,0 +1,81 @@
+package org.rws.mastermind.score;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code ScoreResultCache} class hands out {@link ScoreResult} objects for one game configuration.
+ *
+ * <p>
+ * When a strategy's feedback text depends only on the score and the number of possible
+ * scores is small, every outcome is created and rendered once and then shared by all
+ * sessions with the same configuration. Other strategies get a fresh, lazily rendered
+ * result for each guess.
+ * </p>
+ */
+public final class ScoreResultCache {
+    /** The largest outcome space that is pre-rendered. */
+    public static final int MAX_INTERNED = 4096;
+
+    private static final Map<String, ScoreResultCache> caches = new ConcurrentHashMap<>();
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final String validCharacters;
+    private final ScoreResult[] interned;
+
+    private ScoreResultCache(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+
+        int bound = strategy.outcomeBound(codeLength);
+        if (strategy.rendersGuess() || bound > MAX_INTERNED) {
+            this.interned = null;
+            return;
+        }
+
+        this.interned = new ScoreResult[bound];
+        for (int value = 0; value < bound; value++) {
+            ScoreResult result = new ScoreResult(strategy, value, 0L, codeLength, validCharacters);
+            result.toString();
+            interned[value] = result;
+        }
+    }
+
+    /**
+     * Gets the shared cache for a configuration, creating it on first use.
+     *
+     * @param strategy        The score strategy.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @return The cache for the configuration.
+     */
+    public static ScoreResultCache forConfiguration(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        String key = strategy.getType() + ":" + codeLength + ":" + validCharacters;
+        return caches.computeIfAbsent(key, k -> new ScoreResultCache(strategy, codeLength, validCharacters));
+    }
+
+    /**
+     * Gets the result for a packed score.
+     *
+     * @param value The packed score.
+     * @param guess The packed guess that produced the score.
+     * @return A shared pre-rendered result, or a new lazily rendered one.
+     */
+    public ScoreResult get(int value, long guess) {
+        if (interned != null) {
+            return interned[value];
+        }
+        return new ScoreResult(strategy, value, guess, codeLength, validCharacters);
+    }
+
+    /**
+     * Checks if results for this configuration are pre-rendered and shared.
+     *
+     * @return True if the outcomes are interned.
+     */
+    public boolean isInterned() {
+        return interned != null;
+    }
+}
@@ -1,6 +1,148 @@
 package org.rws.mastermind.score;
 
+/**
+ * The {@code ScoreStrategy} interface defines how a guess is scored against the secret code.
+ *
+ * <p>
+ * Scoring works on packed codes (see {@link org.rws.mastermind.code.PackedCode}) and yields
+ * a packed {@code int} whose layout is specific to each strategy. Turning that value into
+ * text is a separate step so that headless callers never pay for string formatting;
+ * {@link Scorer} wraps the value in a {@link ScoreResult} that renders on demand.
+ * </p>
+ */
 public interface ScoreStrategy {
 
-    String score(String guess, String secretCode, int varLength);
-}
\ No newline at end of file
+    /**
+     * Gets the feedback type this strategy implements, as used by
+     * {@link ScoreStrategyFactory} and {@link org.rws.mastermind.feedback.FeedbackFactory}.
+     * Strategies of the same type produce identical scores.
+     *
+     * @return The feedback type, such as {@code "standard"}.
+     */
+    String getType();
+
+    /**
+     * Scores a packed guess against a packed secret code without allocating.
+     *
+     * @param guess      The packed guess.
+     * @param secret     The packed secret code.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return The packed score.
+     */
+    int score(long guess, long secret, int codeLength, int numVars);
+
+    /**
+     * Renders a packed score as feedback text for display.
+     *
+     * @param score           The packed score returned by {@link #score(long, long, int, int)}.
+     * @param guess           The packed guess that produced the score.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters used to pack the guess.
+     * @return A string representing the feedback.
+     */
+    String render(int score, long guess, int codeLength, String validCharacters);
+
+    /**
+     * Gets an exclusive upper bound on the packed scores for a code length.
+     *
+     * @param codeLength The length of the code.
+     * @return A bound such that every packed score is in {@code [0, bound)}.
+     */
+    int outcomeBound(int codeLength);
+
+    /**
+     * Gets the number of correctly placed characters from a packed score.
+     *
+     * @param score      The packed score.
+     * @param codeLength The length of the code.
+     * @return The number of positions that match the secret code.
+     */
+    int exactMatches(int score, int codeLength);
+
+    /**
+     * Indicates whether the rendered text depends on the guess as well as the score.
+     * Results of strategies that return {@code false} can be pre-rendered and shared.
+     *
+     * @return True if {@link #render} reads the guess.
+     */
+    default boolean rendersGuess() {
+        return false;
+    }
+
+    /**
+     * Indicates whether relabelling the symbols of both codes leaves the score unchanged.
+     * Solvers use this to treat guesses that differ only in unused symbols as equivalent.
+     *
+     * @return True if scores do not depend on which symbols are used.
+     */
+    default boolean isSymbolSymmetric() {
+        return false;
+    }
+
+    /**
+     * Indicates whether permuting the positions of both codes leaves the score unchanged.
+     * Solvers use this to treat guesses that differ only in the order of positions as equivalent.
+     *
+     * @return True if scores do not depend on the order of positions.
+     */
+    default boolean isPositionSymmetric() {
+        return false;
+    }
+
+    /**
+     * Scores one packed guess against many packed candidate codes.
+     * {@code out[i]} receives the score of {@code candidates[offset + i]}.
+     *
+     * @param guess      The packed guess.
+     * @param candidates The packed candidate codes.
+     * @param offset     The index of the first candidate to score.
+     * @param count      The number of candidates to score.
+     * @param out        The array receiving the packed scores.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the packed scores do not fit in a byte.
+     */
+    default void scoreBatch(long guess, long[] candidates, int offset, int count, byte[] out,
+                            int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Byte.SIZE);
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) score(guess, candidates[offset + i], codeLength, numVars);
+        }
+    }
+
+    /**
+     * Scores one packed guess against many packed candidate codes.
+     * {@code out[i]} receives the score of {@code candidates[offset + i]}.
+     *
+     * @param guess      The packed guess.
+     * @param candidates The packed candidate codes.
+     * @param offset     The index of the first candidate to score.
+     * @param count      The number of candidates to score.
+     * @param out        The array receiving the packed scores.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the packed scores do not fit in a short.
+     */
+    default void scoreBatch(long guess, long[] candidates, int offset, int count, short[] out,
+                            int codeLength, int numVars) {
+        checkBatchBound(codeLength, 1 << Short.SIZE);
+        for (int i = 0; i < count; i++) {
+            out[i] = (short) score(guess, candidates[offset + i], codeLength, numVars);
+        }
+    }
+
+    /**
+     * Checks that every packed score for a code length fits the batch output type.
+     *
+     * @param codeLength The length of the code.
+     * @param limit      The number of distinct values the output type can hold.
+     * @throws IllegalArgumentException if the outcome bound exceeds the limit.
+     */
+    default void checkBatchBound(int codeLength, int limit) {
+        if (outcomeBound(codeLength) > limit) {
+            throw new IllegalArgumentException(
+                    "Scores for code length " + codeLength + " do not fit the batch output type.");
+        }
+    }
+}
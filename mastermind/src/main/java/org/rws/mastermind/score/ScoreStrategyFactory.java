@@ -0,0 +1,72 @@
+package org.rws.mastermind.score;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory class for creating {@link ScoreStrategy} objects based on the feedback type.
+ *
+ * <p>
+ * The standard strategy uses the SIMD {@code VectorBasicStrategy} when the build includes it
+ * (Maven profile {@code vector}), the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and the CPU offers more than one long lane.
+ * Otherwise it falls back to the scalar {@link BasicStrategy}. Set the system property
+ * {@code mastermind.vector=false} to force the scalar path.
+ * </p>
+ */
+public class ScoreStrategyFactory {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreStrategyFactory.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_STRATEGY = "org.rws.mastermind.score.VectorBasicStrategy";
+
+    private static final BasicStrategy standard = createStandardStrategy();
+
+    /**
+     * Creates a {@link ScoreStrategy} instance.
+     *
+     * @param type The feedback type, which determines the implementation:
+     *             <ul>
+     *                 <li>{@code "pattern"}: {@link PatternStrategy}</li>
+     *                 <li>{@code "hl"}: {@link HighLowStrategy}</li>
+     *                 <li>Default: the standard strategy</li>
+     *             </ul>
+     * @return A {@link ScoreStrategy} implementation based on the specified type.
+     */
+    public static ScoreStrategy createStrategy(String type) {
+        return switch (type) {
+            case "pattern" -> new PatternStrategy();
+            case "hl" -> new HighLowStrategy();
+            default -> standard;
+        };
+    }
+
+    /**
+     * Checks if the standard strategy runs on the Vector API.
+     *
+     * @return True if SIMD scoring is active.
+     */
+    public static boolean isVectorized() {
+        return standard.getClass() != BasicStrategy.class;
+    }
+
+    /**
+     * Selects the SIMD standard strategy when the runtime supports it.
+     */
+    private static BasicStrategy createStandardStrategy() {
+        if (!Boolean.parseBoolean(System.getProperty("mastermind.vector", "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new BasicStrategy();
+        }
+
+        try {
+            BasicStrategy strategy = (BasicStrategy) Class.forName(VECTOR_STRATEGY)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            logger.info("Using Vector API scoring.");
+            return strategy;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.info("Vector API scoring unavailable, using scalar scoring: " + e);
+            return new BasicStrategy();
+        }
+    }
+}
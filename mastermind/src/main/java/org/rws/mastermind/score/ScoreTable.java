@@ -0,0 +1,315 @@
+package org.rws.mastermind.score;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * The {@code ScoreTable} class holds the precomputed score of every guess against every
+ * secret code for one small configuration.
+ *
+ * <p>
+ * The table is a {@code codes x codes} matrix of bytes indexed by mixed-radix code index
+ * (see {@link PackedCode#toIndex(long, int, int)}). It is built in parallel the first time a
+ * configuration is requested, written to a file and memory-mapped read-only, so every
+ * session in the JVM and every JVM on the host shares the same pages. Once mapped, the
+ * table is immutable and safe to read from any thread.
+ * </p>
+ *
+ * <p>
+ * The file header records a format version and a CRC32C checksum of the matrix. A file whose
+ * header or checksum does not match, such as one left by an older build or damaged on disk,
+ * is rebuilt rather than served. Tables live in a directory private to the current user (see
+ * {@link #prepareDirectory()}).
+ * </p>
+ *
+ * <p>
+ * The table directory and size threshold can be set with the {@code mastermind.scoreTable.dir}
+ * and {@code mastermind.scoreTable.maxEntries} system properties. Setting the threshold to
+ * {@code 0} disables tables.
+ * </p>
+ */
+public final class ScoreTable {
+    /** The default maximum number of matrix entries (bytes) for a table. */
+    public static final long DEFAULT_MAX_ENTRIES = 1L << 26;
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreTable.class);
+    private static final Map<String, Optional<ScoreTable>> tables = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x4D4D5354;
+    /** The file format; bump it whenever the layout or any strategy's packed scores change. */
+    private static final int FORMAT_VERSION = 2;
+    private static final int CHECKSUM_OFFSET = 24;
+    private static final int HEADER_BYTES = 32;
+
+    private final MappedByteBuffer matrix;
+    private final int codeLength;
+    private final int numVars;
+    private final int codeCount;
+
+    private ScoreTable(MappedByteBuffer matrix, int codeLength, int numVars, int codeCount) {
+        this.matrix = matrix;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.codeCount = codeCount;
+    }
+
+    /**
+     * Gets the shared table for a configuration, building or mapping it on first use.
+     *
+     * @param strategy   The score strategy whose packed scores fill the table.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return The score table, or {@code null} if the configuration is invalid or over the size
+     *         threshold, its scores do not fit a byte, or the table could not be created.
+     */
+    public static ScoreTable forConfiguration(ScoreStrategy strategy, int codeLength, int numVars) {
+        if (codeLength < 1 || codeLength > PackedCode.MAX_LENGTH || numVars < 1 || numVars > PackedCode.MAX_SYMBOLS) {
+            return null;
+        }
+        long codes = PackedCode.spaceSize(codeLength, numVars);
+        if (codes > Integer.MAX_VALUE || codes * codes > maxEntries() || strategy.outcomeBound(codeLength) > 256) {
+            return null;
+        }
+
+        String name = strategy.getType() + "-" + codeLength + "x" + numVars;
+        return tables.computeIfAbsent(directory().resolve(name).toString(),
+                        k -> Optional.ofNullable(load(strategy, codeLength, numVars, (int) codes, name)))
+                .orElse(null);
+    }
+
+    /**
+     * Gets the score of a guess against a secret code with a single lookup.
+     *
+     * @param guessIndex  The mixed-radix index of the guess.
+     * @param secretIndex The mixed-radix index of the secret code.
+     * @return The packed score.
+     */
+    public int score(int guessIndex, int secretIndex) {
+        return matrix.get(HEADER_BYTES + guessIndex * codeCount + secretIndex) & 0xFF;
+    }
+
+    /**
+     * Gets the number of codes in the configuration.
+     *
+     * @return The number of rows (and columns) in the table.
+     */
+    public int getCodeCount() {
+        return codeCount;
+    }
+
+    /**
+     * Gets the length of the code.
+     *
+     * @return The length of the code.
+     */
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Gets the number of valid characters.
+     *
+     * @return The number of valid characters.
+     */
+    public int getNumVars() {
+        return numVars;
+    }
+
+    /**
+     * Maps an existing table file that passes verification, or builds and publishes a new one.
+     */
+    private static ScoreTable load(ScoreStrategy strategy, int codeLength, int numVars, int codes, String name) {
+        long expectedSize = HEADER_BYTES + (long) codes * codes;
+        try {
+            Path dir = prepareDirectory();
+            Path file = dir.resolve(name + ".bin");
+            MappedByteBuffer matrix = map(file, expectedSize, codeLength, numVars, codes);
+            if (matrix == null) {
+                if (Files.exists(file)) {
+                    logger.warn("Score table " + file + " is stale or corrupt; rebuilding it");
+                }
+                build(strategy, codeLength, numVars, codes, dir, file, expectedSize);
+                matrix = map(file, expectedSize, codeLength, numVars, codes);
+                if (matrix == null) {
+                    throw new IOException("Score table failed verification after building: " + file);
+                }
+            }
+            logger.info("Mapped score table " + file);
+            return new ScoreTable(matrix, codeLength, numVars, codes);
+        } catch (IOException e) {
+            logger.error("Error creating score table " + name + ": ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Maps a table file if it has the expected size and header and its checksum matches.
+     *
+     * @return The mapped file, or {@code null} if it is missing or fails verification.
+     */
+    private static MappedByteBuffer map(Path file, long expectedSize, int codeLength, int numVars, int codes)
+            throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != expectedSize) {
+            return null;
+        }
+        MappedByteBuffer matrix;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            matrix = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+        }
+        if (matrix.getInt(0) != MAGIC
+                || matrix.getInt(4) != FORMAT_VERSION
+                || matrix.getInt(8) != codeLength
+                || matrix.getInt(12) != numVars
+                || matrix.getInt(16) != codes) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(matrix.duplicate().position(HEADER_BYTES));
+        return crc.getValue() == matrix.getLong(CHECKSUM_OFFSET) ? matrix : null;
+    }
+
+    /**
+     * Fills the matrix one row per task, writes the header with its checksum last and
+     * atomically moves the finished file into place, so other JVMs never map a partial table.
+     * The temporary file is removed if anything fails before the move.
+     */
+    private static void build(ScoreStrategy strategy, int codeLength, int numVars, int codes,
+                              Path dir, Path file, long expectedSize) throws IOException {
+        long start = System.nanoTime();
+        long[] packed = new CodeSpace(codeLength, numVars).codes(false).toArray();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        boolean moved = false;
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                IntStream.range(0, codes).parallel().forEach(g -> {
+                    ByteBuffer row = ByteBuffer.allocate(codes);
+                    long guess = packed[g];
+                    for (int s = 0; s < codes; s++) {
+                        row.put((byte) strategy.score(guess, packed[s], codeLength, numVars));
+                    }
+                    row.flip();
+                    try {
+                        writeFully(channel, row, HEADER_BYTES + (long) g * codes);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Error writing score table row " + g, e);
+                    }
+                });
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(codeLength).putInt(numVars).putInt(codes)
+                        .putInt(0).putLong(checksum(channel, HEADER_BYTES, expectedSize)).flip();
+                writeFully(channel, header, 0);
+            } catch (IllegalStateException e) {
+                throw new IOException(e.getMessage(), e.getCause());
+            }
+
+            if (Files.size(temp) != expectedSize) {
+                throw new IOException("Score table has unexpected size: " + temp);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+        } finally {
+            if (!moved) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        logger.info("Built score table " + file + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Computes the CRC32C of a region of a file, reading it through a small buffer.
+     */
+    private static long checksum(FileChannel channel, long from, long to) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        for (long position = from; position < to; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Score table ended early at byte " + position);
+            }
+            position += read;
+            crc.update(buffer.flip());
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Gets the directory that holds score tables and other precomputed files.
+     *
+     * @return The value of {@code mastermind.scoreTable.dir}, or a folder for the current user
+     *         in the temporary directory.
+     */
+    public static Path directory() {
+        return Paths.get(System.getProperty("mastermind.scoreTable.dir",
+                Paths.get(System.getProperty("java.io.tmpdir"),
+                        "mastermind-score-tables-" + System.getProperty("user.name")).toString()));
+    }
+
+    /**
+     * Gets the table directory, creating it if needed so that only the current user can use it.
+     * Files in the directory are served to every game once they pass verification, so on file
+     * systems with POSIX permissions a directory owned by someone else, or writable by others,
+     * is refused.
+     *
+     * @return The table directory.
+     * @throws IOException if the directory cannot be created or is not private to the current user.
+     */
+    public static Path prepareDirectory() throws IOException {
+        Path dir = directory();
+        boolean posix = dir.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.isDirectory(dir)) {
+            if (posix) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(
+                        PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(dir);
+            }
+        }
+        if (posix) {
+            UserPrincipal user = dir.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(dir);
+            if (!Files.getOwner(dir).equals(user)
+                    || permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IOException("Score table directory " + dir + " must be owned by " + user.getName()
+                        + " and not writable by others");
+            }
+        }
+        return dir;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static long maxEntries() {
+        return Math.min(Long.getLong("mastermind.scoreTable.maxEntries", DEFAULT_MAX_ENTRIES),
+                Integer.MAX_VALUE - HEADER_BYTES);
+    }
+}
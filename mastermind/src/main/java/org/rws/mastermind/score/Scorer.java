@@ -1,35 +1,80 @@
 package org.rws.mastermind.score;
 
 import org.rws.mastermind.code.Code;
+import org.rws.mastermind.code.PackedCode;
 
 /**
  * The Scorer class provides methods to score guesses in the Mastermind game.
+ *
+ * <p>
+ * Each scorer belongs to one secret code, so every game session has its own. Its state is
+ * final and set in the constructor, and the tables and caches it reads are immutable or
+ * thread-safe, so a scorer can be shared between threads without locking.
+ * </p>
  */
-public class Scorer {
+public final class Scorer {
     private final ScoreStrategy strategy;
-    private static Code secretCode;
+    private final ScoreResultCache results;
+    private final ScoreTable table;
+    private final String validCharacters;
+    private final int codeLength;
+    private final int numVars;
+    private final long secretPacked;
+    private final int secretIndex;
 
     /**
-     * Constructs a Scorer object with the specified code length and code.
+     * Constructs a Scorer object for the specified secret code.
      *
-     * @param code The Code object representing the secret code.
+     * @param strategy The score strategy that produces the feedback.
+     * @param code     The Code object representing the secret code.
      */
     public Scorer(ScoreStrategy strategy, Code code) {
         this.strategy = strategy;
-        Scorer.secretCode = code;
+        this.results = ScoreResultCache.forConfiguration(strategy, code.getLength(), code.getValidCharacters());
+        this.table = ScoreTable.forConfiguration(strategy, code.getLength(), code.getNumVars());
+        this.validCharacters = code.getValidCharacters();
+        this.codeLength = code.getLength();
+        this.numVars = code.getNumVars();
+        this.secretPacked = code.getPacked();
+        this.secretIndex = table != null ? (int) code.getIndex() : -1;
     }
 
     /**
      * Scores a guess compared to the secret code.
-     * The result array contains two elements:
-     * - result[0]: The number of correct characters in the correct position (black pegs).
-     * - result[1]: The number of correct characters in the wrong position (white pegs).
+     * The guess is packed and scored on the allocation-free path; the
+     * feedback text is only rendered if the result is displayed.
      *
      * @param guess The string representing the player's guess.
-     * @return An array of two integers representing the score.
+     * @return A {@link ScoreResult} representing the feedback for the guess.
      */
-    public String score(String guess) {
-        return strategy.score(guess, secretCode.toString(), secretCode.getNumVars());
+    public ScoreResult score(String guess) {
+        return scoreResult(PackedCode.pack(guess, validCharacters));
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Scores a packed guess compared to the secret code, for guesses already packed
+     * while they were validated.
+     *
+     * @param packedGuess The packed guess.
+     * @return A {@link ScoreResult} representing the feedback for the guess.
+     */
+    public ScoreResult scoreResult(long packedGuess) {
+        return results.get(score(packedGuess), packedGuess);
+    }
+
+    /**
+     * Scores a packed guess compared to the secret code without allocating.
+     * Small configurations are answered with a single {@link ScoreTable} lookup.
+     *
+     * @param packedGuess The packed guess.
+     * @return The packed score, in the layout defined by the strategy.
+     */
+    public int score(long packedGuess) {
+        if (table != null) {
+            int guessIndex = (int) PackedCode.toIndex(packedGuess, codeLength, numVars);
+            return table.score(guessIndex, secretIndex);
+        }
+        return strategy.score(packedGuess, secretPacked, codeLength, numVars);
+    }
+
+}
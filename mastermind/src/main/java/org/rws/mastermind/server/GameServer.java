@@ -0,0 +1,350 @@
+package org.rws.mastermind.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.rws.mastermind.database.MastermindDB;
+import org.rws.mastermind.engine.GuessResult;
+import org.rws.mastermind.engine.HeadlessEngine;
+import org.rws.mastermind.engine.ManagedSession;
+import org.rws.mastermind.engine.SessionManager;
+import org.rws.mastermind.score.ScoreResult;
+import org.rws.mastermind.settings.GameSetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code GameServer} class serves the game over HTTP with JSON bodies, using the JDK's
+ * built-in {@link HttpServer}.
+ *
+ * <p>
+ * Games are {@link HeadlessEngine} sessions held by a {@link SessionManager}, so each game's
+ * guesses are played in order on its own turn loop and scored through its {@code GameState}.
+ * The endpoints are:
+ * <ul>
+ *   <li>{@code POST /games}: creates a game. Optional members: {@code player},
+ *       {@code length}, {@code characters}, {@code rounds}, {@code feedback} and
+ *       {@code secret} (a code set by another player).</li>
+ *   <li>{@code POST /games/{id}/guesses}: scores {@code {"guess": "1234"}}.</li>
+ *   <li>{@code GET /games/{id}}: the game state; the secret is shown once the game is over.</li>
+ *   <li>{@code DELETE /games/{id}}: abandons the game.</li>
+ *   <li>{@code GET /leaderboard?limit=10}: the best players (see {@link Leaderboard}).</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Requests run on virtual threads when the runtime has them, and otherwise on a bounded pool
+ * of platform threads whose full queue makes the accepting thread run the request itself,
+ * which slows clients down instead of dropping them. The pool size can be set with the
+ * {@code mastermind.server.threads} system property. See {@link LoadGenerator} to measure
+ * throughput and latency.
+ * </p>
+ */
+public final class GameServer implements AutoCloseable {
+    /** The default port. */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final Logger logger = LoggerFactory.getLogger(GameServer.class);
+    private static final int BACKLOG = 1024;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int PURGE_SLACK = 1024;
+    private static final int MAX_ROUNDS = 100;
+    private static final int DEFAULT_LEADERBOARD_SIZE = 10;
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY each
+        // keep-alive response can stall on delayed ACKs for about 40 ms.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final SessionManager sessions;
+    private final Leaderboard leaderboard;
+    private final Map<String, ServerGame> games = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@code GameServer} bound to a port. Call {@link #start()} to serve requests.
+     *
+     * @param port The port, or {@code 0} for any free port.
+     * @param db   The database for the leaderboard, or {@code null} to keep results in memory.
+     * @throws IOException if the port cannot be bound.
+     */
+    public GameServer(int port, MastermindDB db) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.sessions = new SessionManager();
+        this.leaderboard = new Leaderboard(db);
+
+        ExecutorService virtual = Boolean.parseBoolean(System.getProperty("mastermind.sessions.virtualThreads", "true"))
+                ? SessionManager.createVirtualThreadExecutor()
+                : null;
+        this.virtualThreads = virtual != null;
+        if (virtual != null) {
+            this.executor = virtual;
+        } else {
+            int threads = Integer.getInteger("mastermind.server.threads", 4 * Runtime.getRuntime().availableProcessors());
+            AtomicInteger count = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                    runnable -> new Thread(runnable, "mastermind-server-" + count.incrementAndGet()),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts serving requests in the background.
+     */
+    public void start() {
+        server.start();
+        logger.info("Game server listening on port " + getPort() + " with "
+                + (virtualThreads ? "virtual threads" : "a bounded thread pool"));
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, closes every game and waits briefly for requests in flight.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        sessions.close();
+        leaderboard.close();
+        logger.info("Game server stopped.");
+    }
+
+    /**
+     * Routes a request by method and path and turns failures into JSON errors.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            int status;
+            String body;
+            try {
+                if (path.length == 2 && path[1].equals("games") && method.equals("POST")) {
+                    body = createGame(Json.parseObject(readBody(exchange)));
+                    status = 201;
+                } else if (path.length == 4 && path[1].equals("games") && path[3].equals("guesses")
+                        && method.equals("POST")) {
+                    String guess = Json.parseObject(readBody(exchange)).get("guess");
+                    GuessReply reply = guess(path[2], guess);
+                    status = reply.status;
+                    body = reply.body;
+                } else if (path.length == 3 && path[1].equals("games") && method.equals("GET")) {
+                    ServerGame game = games.get(path[2]);
+                    status = game == null || game.session.isClosed() ? 404 : 200;
+                    body = status == 404 ? error("No such game.") : state(game);
+                } else if (path.length == 3 && path[1].equals("games") && method.equals("DELETE")) {
+                    ServerGame game = games.remove(path[2]);
+                    status = game != null && sessions.closeSession(path[2]) ? 200 : 404;
+                    body = status == 404 ? error("No such game.") : "{\"closed\":true}";
+                } else if (path.length == 2 && path[1].equals("leaderboard") && method.equals("GET")) {
+                    body = leaderboard(exchange.getRequestURI());
+                    status = 200;
+                } else {
+                    status = 404;
+                    body = error("Unknown endpoint: " + method + " " + exchange.getRequestURI().getPath());
+                }
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (IllegalStateException e) {
+                status = 503;
+                body = error(e.getMessage());
+            } catch (CompletionException e) {
+                logger.error("Error playing a guess for " + exchange.getRequestURI() + ": ", e.getCause());
+                status = 500;
+                body = error("The guess could not be scored.");
+            }
+            send(exchange, status, body);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error handling request " + exchange.getRequestURI() + ": ", e);
+        }
+    }
+
+    private String createGame(Map<String, String> request) {
+        GameSetter settings = new RequestSetter(
+                parseInt(request.get("length"), 4),
+                request.getOrDefault("characters", "12345678"),
+                Math.min(MAX_ROUNDS, Math.max(1, parseInt(request.get("rounds"), 10))),
+                request.getOrDefault("feedback", "standard"));
+        if (!settings.getFeedbackType().matches("standard|pattern|hl")) {
+            throw new IllegalArgumentException("Unknown feedback type: " + settings.getFeedbackType());
+        }
+        if (settings.getCodeLength() < 1) {
+            throw new IllegalArgumentException("The code length must be at least 1.");
+        }
+        String characters = settings.getCodeCharString();
+        if (characters.isEmpty() || characters.chars().distinct().count() != characters.length()) {
+            throw new IllegalArgumentException("The characters must be distinct and not empty.");
+        }
+        String player = request.get("player");
+        if (player != null && !Leaderboard.isValidName(player)) {
+            throw new IllegalArgumentException("Player names must be 1 to "
+                    + Leaderboard.MAX_NAME_LENGTH + " characters long.");
+        }
+
+        String secret = request.get("secret");
+        ManagedSession session = secret == null
+                ? sessions.createSession(settings)
+                : sessions.createSession(settings, secret);
+        games.put(session.getId(), new ServerGame(session, player));
+        if (games.size() > sessions.size() + PURGE_SLACK) {
+            games.values().removeIf(game -> game.session.isClosed());
+        }
+
+        return "{\"id\":" + Json.quote(session.getId())
+                + ",\"length\":" + settings.getCodeLength()
+                + ",\"characters\":" + Json.quote(settings.getCodeCharString())
+                + ",\"rounds\":" + settings.getNumberOfRounds()
+                + ",\"feedback\":" + Json.quote(settings.getFeedbackType()) + "}";
+    }
+
+    private GuessReply guess(String id, String guess) {
+        ServerGame game = games.get(id);
+        if (game == null || guess == null) {
+            return game == null
+                    ? new GuessReply(404, error("No such game."))
+                    : new GuessReply(400, error("Missing guess."));
+        }
+        var pending = sessions.submitGuess(id, guess);
+        if (pending == null) {
+            return new GuessReply(404, error("No such game."));
+        }
+
+        GuessResult result = pending.join();
+        switch (result.getStatus()) {
+            case INVALID -> {
+                return new GuessReply(400, error("Invalid guess."));
+            }
+            case GAME_OVER -> {
+                return new GuessReply(409, error("The game is over."));
+            }
+            default -> {
+                if (result.isGameOver() && game.player != null && game.recorded.compareAndSet(false, true)) {
+                    leaderboard.record(game.player, result.isWon());
+                }
+                ScoreResult score = result.getScore();
+                return new GuessReply(200, "{\"score\":" + score.getValue()
+                        + ",\"exactMatches\":" + score.getExactMatches()
+                        + ",\"feedback\":" + Json.quote(score.toString())
+                        + ",\"attemptsLeft\":" + result.getAttemptsLeft()
+                        + ",\"won\":" + result.isWon()
+                        + ",\"over\":" + result.isGameOver() + "}");
+            }
+        }
+    }
+
+    private String state(ServerGame game) {
+        HeadlessEngine engine = game.session.getEngine();
+        boolean over = engine.isGameOver();
+        return "{\"id\":" + Json.quote(game.session.getId())
+                + ",\"player\":" + Json.quote(game.player)
+                + ",\"attemptsLeft\":" + engine.getAttemptsLeft()
+                + ",\"won\":" + engine.isGameWon()
+                + ",\"over\":" + over
+                + (over ? ",\"secret\":" + Json.quote(engine.getSecretCodeString()) : "") + "}";
+    }
+
+    private String leaderboard(URI uri) {
+        int limit = DEFAULT_LEADERBOARD_SIZE;
+        String query = uri.getQuery();
+        if (query != null && query.startsWith("limit=")) {
+            limit = Math.max(1, parseInt(query.substring("limit=".length()), DEFAULT_LEADERBOARD_SIZE));
+        }
+
+        StringBuilder body = new StringBuilder("{\"players\":[");
+        boolean first = true;
+        for (Leaderboard.Standing standing : leaderboard.top(limit)) {
+            body.append(first ? "" : ",")
+                    .append("{\"name\":").append(Json.quote(standing.name()))
+                    .append(",\"wins\":").append(standing.wins())
+                    .append(",\"losses\":").append(standing.losses()).append('}');
+            first = false;
+        }
+        return body.append("]}").toString();
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * A game created through the API and the player it belongs to, if any.
+     */
+    private static final class ServerGame {
+        final ManagedSession session;
+        final String player;
+        final AtomicBoolean recorded = new AtomicBoolean();
+
+        ServerGame(ManagedSession session, String player) {
+            this.session = session;
+            this.player = player;
+        }
+    }
+
+    private record GuessReply(int status, String body) {}
+
+    /**
+     * The settings of a game created through the API.
+     */
+    private record RequestSetter(int codeLength, String codeChars, int numberOfRounds, String feedbackType)
+            implements GameSetter {
+        @Override public void initSettingsMenu() { }
+        @Override public int getNumberOfPlayers() { return 1; }
+        @Override public int getNumberOfRounds() { return numberOfRounds; }
+        @Override public int getCodeLength() { return codeLength; }
+        @Override public String getCodeCharString() { return codeChars; }
+        @Override public String getCodeType() { return "random"; }
+        @Override public String getFeedbackType() { return feedbackType; }
+    }
+}
@@ -0,0 +1,175 @@
+package org.rws.mastermind.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code Json} class reads and writes the small, flat JSON objects used by the
+ * {@link GameServer} API.
+ *
+ * <p>
+ * Requests are objects whose values are strings, numbers, booleans or {@code null}; nested
+ * objects and arrays are rejected. Responses are written with {@link StringBuilder}s and
+ * {@link #quote(String)}.
+ * </p>
+ */
+final class Json {
+
+    private Json() {}
+
+    /**
+     * Parses a flat JSON object.
+     *
+     * @param text The request body; blank means an empty object.
+     * @return The members, with every value as its literal text ({@code null} for JSON null).
+     * @throws IllegalArgumentException if the text is not a flat JSON object.
+     */
+    static Map<String, String> parseObject(String text) {
+        Map<String, String> members = new HashMap<>();
+        Parser parser = new Parser(text);
+        if (parser.atEnd()) {
+            return members;
+        }
+        parser.expect('{');
+        if (parser.peek() == '}') {
+            parser.pos++;
+        } else {
+            do {
+                String name = parser.string();
+                parser.expect(':');
+                members.put(name, parser.value());
+            } while (parser.next() == ',');
+            parser.pos--;
+            parser.expect('}');
+        }
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected text after JSON object.");
+        }
+        return members;
+    }
+
+    /**
+     * Writes a string as a JSON string literal.
+     *
+     * @param value The string, or {@code null}.
+     * @return The quoted and escaped literal, or {@code null}.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text == null ? "" : text;
+        }
+
+        boolean atEnd() {
+            skipSpace();
+            return pos >= text.length();
+        }
+
+        char peek() {
+            skipSpace();
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON.");
+            }
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char c) {
+            if (next() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + (pos - 1) + ".");
+            }
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported.");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Missing JSON value at position " + start + ".");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Bad unicode escape in JSON string.");
+                        }
+                        out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> out.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated JSON string.");
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
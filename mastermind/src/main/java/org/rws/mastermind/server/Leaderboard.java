@@ -0,0 +1,187 @@
+package org.rws.mastermind.server;
+
+import org.rws.mastermind.database.MastermindDB;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code Leaderboard} class counts wins and losses per player name for the
+ * {@link GameServer}.
+ *
+ * <p>
+ * Counts are kept in memory so requests never wait on the database. When a
+ * {@link MastermindDB} is given, the counts start from its leaderboard and each result is also
+ * written to it in the background by a single writer thread, since the SQLite connection is not
+ * thread-safe. Players are ranked as in {@link MastermindDB#getLeaderboard(int)}: by win rate,
+ * then wins, then fewest losses.
+ * </p>
+ *
+ * <p>
+ * Names are at most {@link #MAX_NAME_LENGTH} characters, and at most {@link #MAX_PLAYERS}
+ * players are held in memory; results of further players are only written to the database.
+ * </p>
+ */
+final class Leaderboard {
+    /** The longest player name that is accepted. */
+    static final int MAX_NAME_LENGTH = 64;
+
+    /** The largest number of players counted in memory. */
+    static final int MAX_PLAYERS = 10_000;
+
+    private static final String WINS = ", Wins: ";
+    private static final String LOSSES = ", Losses: ";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final MastermindDB db;
+    private final ExecutorService writer;
+
+    /**
+     * Constructs a {@code Leaderboard}, starting from the results already in the database.
+     *
+     * @param db The database to read and write results, or {@code null} to keep them in memory only.
+     */
+    Leaderboard(MastermindDB db) {
+        this.db = db;
+        if (db != null) {
+            db.getLeaderboard(MAX_PLAYERS).forEach(this::seed);
+        }
+        this.writer = db == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mastermind-leaderboard-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checks if a player name can be recorded.
+     *
+     * @param player The player name.
+     * @return True if the name is not empty and at most {@link #MAX_NAME_LENGTH} characters long.
+     */
+    static boolean isValidName(String player) {
+        return !player.isEmpty() && player.length() <= MAX_NAME_LENGTH;
+    }
+
+    /**
+     * Records the result of a finished game.
+     *
+     * @param player The player name.
+     * @param won    True if the player cracked the code.
+     * @throws IllegalArgumentException if the name is not valid.
+     */
+    void record(String player, boolean won) {
+        if (!isValidName(player)) {
+            throw new IllegalArgumentException("Invalid player name.");
+        }
+        Entry entry = entries.size() < MAX_PLAYERS
+                ? entries.computeIfAbsent(player, Entry::new)
+                : entries.get(player);
+        if (entry != null) {
+            (won ? entry.wins : entry.losses).incrementAndGet();
+        }
+        if (writer != null) {
+            writer.execute(() -> write(player, won));
+        }
+    }
+
+    /**
+     * Stops the database writer after the results already recorded have been written.
+     */
+    void close() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Adds one line of {@link MastermindDB#getLeaderboard(int)}, formatted as
+     * {@code "name, Wins: w, Losses: l"}. The counts are taken from the end, so names may hold commas.
+     */
+    private void seed(String line) {
+        int losses = line.lastIndexOf(LOSSES);
+        int wins = losses < 0 ? -1 : line.lastIndexOf(WINS, losses);
+        if (wins < 0) {
+            return;
+        }
+        try {
+            Entry entry = new Entry(line.substring(0, wins));
+            entry.wins.set(Integer.parseInt(line.substring(wins + WINS.length(), losses)));
+            entry.losses.set(Integer.parseInt(line.substring(losses + LOSSES.length())));
+            entries.putIfAbsent(entry.name, entry);
+        } catch (NumberFormatException e) {
+            // not a leaderboard line; skip it
+        }
+    }
+
+    private void write(String player, boolean won) {
+        int id = db.addPlayer(player);
+        if (id <= 0) {
+            List<String> found = db.findPlayer(player);
+            if (found.isEmpty()) {
+                return;
+            }
+            id = Integer.parseInt(found.get(0));
+        }
+        if (won) {
+            db.incrementWins(id);
+        } else {
+            db.incrementLosses(id);
+        }
+    }
+
+    /**
+     * Gets the best players. The counts are copied before sorting, so results recorded meanwhile
+     * cannot reorder players during the sort.
+     *
+     * @param limit The maximum number of players.
+     * @return The players, best first.
+     */
+    List<Standing> top(int limit) {
+        return entries.values().stream()
+                .map(entry -> new Standing(entry.name, entry.wins.get(), entry.losses.get()))
+                .sorted(Comparator.comparingDouble(Standing::winRate).reversed()
+                        .thenComparing(Comparator.comparingInt(Standing::wins).reversed())
+                        .thenComparingInt(Standing::losses))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * One player's results at the time they were read.
+     *
+     * @param name   The player name.
+     * @param wins   The number of games won.
+     * @param losses The number of games lost.
+     */
+    record Standing(String name, int wins, int losses) {
+        double winRate() {
+            int total = wins + losses;
+            return total == 0 ? 0.0 : (double) wins / total;
+        }
+    }
+
+    /**
+     * One player's live counts.
+     */
+    private static final class Entry {
+        private final String name;
+        private final AtomicInteger wins = new AtomicInteger();
+        private final AtomicInteger losses = new AtomicInteger();
+
+        Entry(String name) {
+            this.name = name;
+        }
+    }
+}
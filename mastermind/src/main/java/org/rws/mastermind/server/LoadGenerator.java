@@ -0,0 +1,165 @@
+package org.rws.mastermind.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code LoadGenerator} class measures the throughput and latency of a {@link GameServer}.
+ *
+ * <p>
+ * Each client thread plays games back to back over one keep-alive connection: it creates a
+ * game with a known secret, makes three wrong guesses and then cracks it, and reads the game
+ * state. Every request is timed, and the requests per second and latency percentiles are
+ * printed at the end.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code LoadGenerator [baseUrl|local] [threads] [seconds]}. With {@code local}, the
+ * default, an embedded server is started on a free port in the same JVM.
+ * </p>
+ */
+public final class LoadGenerator {
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final String[] GUESSES = { "5678", "8765", "1243", "1234" };
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+
+    /**
+     * Constructs a {@code LoadGenerator} for a server.
+     *
+     * @param baseUrl The server URL, such as {@code http://localhost:8080}.
+     */
+    public LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "local";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        GameServer server = null;
+        if (target.equals("local")) {
+            server = new GameServer(0, null);
+            server.start();
+            target = "http://localhost:" + server.getPort();
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(target);
+            generator.run(threads, 1, true);
+            System.out.println(generator.run(threads, seconds, false));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    /**
+     * Plays games from several client threads for a fixed time.
+     *
+     * @param threads The number of client threads.
+     * @param seconds How long to run.
+     * @param warmUp  True to discard the latencies, for a warm-up run.
+     * @return A summary of the run.
+     * @throws Exception if a client thread fails.
+     */
+    public String run(int threads, int seconds, boolean warmUp) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                clients.add(executor.submit(() -> playUntil(deadline)));
+            }
+            long[][] perClient = new long[threads][];
+            for (int t = 0; t < threads; t++) {
+                perClient[t] = clients.get(t).get();
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            if (warmUp) {
+                return "";
+            }
+
+            long[] latencies = Arrays.stream(perClient).flatMapToLong(Arrays::stream).sorted().toArray();
+            return String.format("%d requests from %d threads in %.1f s: %.0f requests/s, "
+                            + "latency p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    latencies.length, threads, elapsed, latencies.length / elapsed,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays games until the deadline and returns the latency of each request in nanoseconds.
+     */
+    private long[] playUntil(long deadline) throws IOException, InterruptedException {
+        long[] latencies = new long[1024];
+        int n = 0;
+        while (System.nanoTime() - deadline < 0) {
+            if (n + GUESSES.length + 2 > latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            long begin = System.nanoTime();
+            String created = send("POST", "/games", "{\"secret\":\"1234\",\"rounds\":10}", 201);
+            latencies[n++] = System.nanoTime() - begin;
+
+            Matcher matcher = ID.matcher(created);
+            if (!matcher.find()) {
+                throw new IOException("No game id in response: " + created);
+            }
+            String game = "/games/" + matcher.group(1);
+            for (String guess : GUESSES) {
+                begin = System.nanoTime();
+                send("POST", game + "/guesses", "{\"guess\":\"" + guess + "\"}", 200);
+                latencies[n++] = System.nanoTime() - begin;
+            }
+            begin = System.nanoTime();
+            send("GET", game, null, 200);
+            latencies[n++] = System.nanoTime() - begin;
+        }
+        return Arrays.copyOf(latencies, n);
+    }
+
+    private String send(String method, String path, String body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -42,6 +42,7 @@ public class CLISetter extends BasicSetter {
         this.codeChars = original.codeChars;
         this.codeType = original.codeType;
         this.feedbackType = original.feedbackType;
+        this.openHandFlag = original.openHandFlag;
     }
 
     /**
@@ -113,7 +114,7 @@ public class CLISetter extends BasicSetter {
     @Override public String getCodeCharString() { return this.codeChars; }
     @Override public String getCodeType() { return this.codeType; }
     @Override public String getFeedbackType() { return this.feedbackType; }
-    public boolean getOpenHandFlag() { return this.openHandFlag; }
+    @Override public boolean getOpenHandFlag() { return this.openHandFlag; }
 
     /**
      * Sets the number of players in the game from the command-line interface.
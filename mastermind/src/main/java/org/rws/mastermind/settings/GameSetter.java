@@ -45,4 +45,12 @@ public interface GameSetter {
 
     String getFeedbackType();
 
+    /**
+     * Checks if open hand mode is on, in which the secret code and the remaining
+     * possibilities are shown.
+     *
+     * @return True if open hand mode is on.
+     */
+    default boolean getOpenHandFlag() { return false; }
+
 }
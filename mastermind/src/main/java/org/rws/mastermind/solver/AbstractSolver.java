@@ -0,0 +1,315 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+import org.rws.mastermind.score.ScoreTable;
+
+import java.util.Arrays;
+
+/**
+ * The {@code AbstractSolver} class keeps the candidate set shared by the solvers that
+ * search the whole code space.
+ *
+ * <p>
+ * Every code of the configuration is enumerated once in mixed-radix index order. The
+ * remaining candidates are held as parallel arrays of indices and packed codes, compacted
+ * in place on each {@link #update(long, int)}, together with a bitset for constant-time
+ * membership tests. Scoring uses the shared {@link ScoreTable} when the configuration is
+ * small enough and the strategy's batch path otherwise.
+ * </p>
+ *
+ * <p>
+ * A {@link SymmetryReducer} follows the history so that searches can skip guesses that are
+ * equivalent to one that comes earlier in reading order; see {@link #isCanonicalGuess(int)}.
+ * When the strategy is symbol-symmetric, symbols that appear in no remaining candidate are
+ * interchangeable too: swapping two of them fixes every candidate, so a guess using any of
+ * them but the lowest splits the candidates exactly like the earlier guess that uses the
+ * lowest instead, and is skipped.
+ * </p>
+ */
+public abstract class AbstractSolver implements Solver {
+    /** The largest code space a solver will enumerate. */
+    public static final long MAX_CODES = 1L << 22;
+
+    protected final ScoreStrategy strategy;
+    protected final int codeLength;
+    protected final int numVars;
+    protected final String validCharacters;
+    protected final int codeCount;
+    protected final int outcomeBound;
+    protected final long[] codes;
+    protected final ScoreTable table;
+
+    protected final int[] candidateIndices;
+    protected final long[] candidates;
+    protected final long[] candidateBits;
+    protected int candidateCount;
+
+    /**
+     * The scale of the fixed-point entropy sum. Summing integers makes the entropy independent
+     * of the order partitions are met in, so equivalent guesses tie exactly.
+     */
+    private static final double FIXED_POINT_ONE = 1L << 32;
+
+    private final short[] filterScores;
+    private final short[] symbolSets;
+    private int redundantSymbols;
+    private SymmetryReducer symmetry;
+    private long[] canonicalBits;
+    private boolean symmetryChanged = true;
+
+    /**
+     * Constructs an {@code AbstractSolver} whose candidates are the whole code space.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @throws IllegalArgumentException if the code space or outcome space is too large to search.
+     */
+    protected AbstractSolver(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        long space = PackedCode.spaceSize(codeLength, validCharacters.length());
+        if (space > MAX_CODES) {
+            throw new IllegalArgumentException("Code space too large to solve: " + space + " codes.");
+        }
+        if (strategy.outcomeBound(codeLength) > 1 << Short.SIZE) {
+            throw new IllegalArgumentException("Too many possible scores to solve code length " + codeLength + ".");
+        }
+
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = validCharacters.length();
+        this.validCharacters = validCharacters;
+        this.codeCount = (int) space;
+        this.outcomeBound = strategy.outcomeBound(codeLength);
+        this.table = ScoreTable.forConfiguration(strategy, codeLength, numVars);
+
+        this.codes = new CodeSpace(codeLength, numVars).codes(false).toArray();
+        this.candidateIndices = new int[codeCount];
+        this.candidates = codes.clone();
+        this.candidateBits = new long[(codeCount + Long.SIZE - 1) / Long.SIZE];
+        for (int i = 0; i < codeCount; i++) {
+            candidateIndices[i] = i;
+            candidateBits[i >>> 6] |= 1L << i;
+        }
+        this.candidateCount = codeCount;
+        this.filterScores = new short[codeCount];
+        this.symbolSets = new short[codeCount];
+        for (int i = 0; i < codeCount; i++) {
+            int set = 0;
+            for (int p = 0; p < codeLength; p++) {
+                set |= 1 << PackedCode.symbolAt(codes[i], p);
+            }
+            symbolSets[i] = (short) set;
+        }
+        this.symmetry = new SymmetryReducer(strategy, codeLength, numVars);
+    }
+
+    /**
+     * Removes the candidates that would not have given the score for the guess.
+     */
+    @Override
+    public void update(long guess, int score) {
+        int guessIndex = (int) PackedCode.toIndex(guess, codeLength, numVars);
+        scoreCandidates(guessIndex, filterScores);
+
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int index = candidateIndices[i];
+            if ((filterScores[i] & 0xFFFF) == score) {
+                candidateIndices[kept] = index;
+                candidates[kept] = candidates[i];
+                kept++;
+            } else {
+                candidateBits[index >>> 6] &= ~(1L << index);
+            }
+        }
+        candidateCount = kept;
+
+        symmetry.record(guess);
+        symmetryChanged = true;
+    }
+
+    /**
+     * Puts the solver in the state a history leads to, given the candidates that history
+     * leaves, without enumerating the code space or scoring the history again. This lets one
+     * solver be reused across the nodes of a search tree.
+     *
+     * @param guesses The guesses of the history, in order.
+     * @param indices The mixed-radix indices of the remaining candidates, in ascending order.
+     * @param count   The number of remaining candidates.
+     */
+    void restore(long[] guesses, int[] indices, int count) {
+        Arrays.fill(candidateBits, 0L);
+        for (int i = 0; i < count; i++) {
+            int index = indices[i];
+            candidateIndices[i] = index;
+            candidates[i] = codes[index];
+            candidateBits[index >>> 6] |= 1L << index;
+        }
+        candidateCount = count;
+
+        symmetry = new SymmetryReducer(strategy, codeLength, numVars);
+        for (long guess : guesses) {
+            symmetry.record(guess);
+        }
+        symmetryChanged = true;
+    }
+
+    @Override
+    public int getRemaining() {
+        return candidateCount;
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return validCharacters;
+    }
+
+    @Override
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Checks if a code is still a candidate.
+     *
+     * @param index The mixed-radix index of the code.
+     * @return True if the code is consistent with the history.
+     */
+    protected boolean isCandidate(int index) {
+        return (candidateBits[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Brings the set of canonical guesses up to date with the history and the remaining
+     * candidates. Searches call this once before using {@link #isCanonicalGuess(int)},
+     * possibly from several threads.
+     */
+    protected void refreshSymmetry() {
+        if (!symmetryChanged) {
+            return;
+        }
+        symmetryChanged = false;
+        redundantSymbols = 0;
+        if (strategy.isSymbolSymmetric()) {
+            int present = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                present |= symbolSets[candidateIndices[i]] & 0xFFFF;
+            }
+            int absent = ~present & ((1 << numVars) - 1);
+            redundantSymbols = absent & (absent - 1);
+        }
+        if (symmetry.isTrivial()) {
+            canonicalBits = null;
+            return;
+        }
+
+        long[] bits = new long[candidateBits.length];
+        for (int i = 0; i < codeCount; i++) {
+            if (symmetry.isCanonical(codes[i])) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        canonicalBits = bits;
+    }
+
+    /**
+     * Checks if a guess has to be evaluated, or is equivalent to one earlier in reading order.
+     * Only valid after {@link #refreshSymmetry()}.
+     *
+     * @param index The mixed-radix index of the guess.
+     * @return True if the guess is the first of its equivalence class.
+     */
+    protected boolean isCanonicalGuess(int index) {
+        return (symbolSets[index] & redundantSymbols) == 0
+                && (canonicalBits == null || (canonicalBits[index >>> 6] & 1L << index) != 0);
+    }
+
+    /**
+     * Scores a guess against every remaining candidate.
+     * {@code out[i]} receives the score of the candidate at position {@code i}.
+     *
+     * @param guessIndex The mixed-radix index of the guess.
+     * @param out        The array receiving the packed scores.
+     */
+    protected void scoreCandidates(int guessIndex, short[] out) {
+        if (table != null) {
+            for (int i = 0; i < candidateCount; i++) {
+                out[i] = (short) table.score(guessIndex, candidateIndices[i]);
+            }
+            return;
+        }
+        strategy.scoreBatch(codes[guessIndex], candidates, 0, candidateCount, out, codeLength, numVars);
+    }
+
+    /**
+     * Converts a rank in reading order, where position 0 is the most significant digit,
+     * into the mixed-radix index, where it is the least significant.
+     *
+     * @param rank The position of a code in reading order.
+     * @return The mixed-radix index of the code.
+     */
+    protected int readingOrderIndex(int rank) {
+        int index = 0;
+        for (int i = 0; i < codeLength; i++) {
+            index = index * numVars + rank % numVars;
+            rank /= numVars;
+        }
+        return index;
+    }
+
+    /**
+     * Computes the partition statistics of one guess. Safe to call from several threads
+     * at once as long as each passes its own buffers and no update runs concurrently.
+     *
+     * @param rank      The position of the guess in reading order.
+     * @param histogram A zeroed buffer of at least {@link #outcomeBound} counts; left zeroed.
+     * @param scores    A buffer of at least {@link #getRemaining()} scores.
+     * @return The partition statistics of the guess.
+     */
+    PartitionStats partitionStats(int rank, int[] histogram, short[] scores) {
+        int guessIndex = readingOrderIndex(rank);
+        scoreCandidates(guessIndex, scores);
+        for (int i = 0; i < candidateCount; i++) {
+            histogram[scores[i] & 0xFFFF]++;
+        }
+
+        int parts = 0;
+        int worst = 0;
+        long sumOfSquares = 0L;
+        long weightedBits = 0L;
+        for (int i = 0; i < candidateCount; i++) {
+            int score = scores[i] & 0xFFFF;
+            int size = histogram[score];
+            if (size > 0) {
+                parts++;
+                worst = Math.max(worst, size);
+                sumOfSquares += (long) size * size;
+                weightedBits += Math.round(size * log2(size) * FIXED_POINT_ONE);
+                histogram[score] = 0;
+            }
+        }
+
+        double total = candidateCount;
+        return new PartitionStats(guessIndex, rank, isCandidate(guessIndex), parts, worst,
+                sumOfSquares / total, log2(total) - weightedBits / FIXED_POINT_ONE / total);
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    /**
+     * Gets the only remaining candidate, or fails if none is left.
+     *
+     * @return The packed code, or {@code -1} if more than one candidate remains.
+     * @throws IllegalStateException if no candidate is consistent with the history.
+     */
+    protected long singleCandidate() {
+        if (candidateCount == 0) {
+            throw new IllegalStateException("No code is consistent with the feedback given.");
+        }
+        return candidateCount == 1 ? candidates[0] : -1L;
+    }
+}
@@ -0,0 +1,128 @@
+package org.rws.mastermind.solver;
+
+/**
+ * The {@code AnytimeReport} class describes how much work an {@link AnytimeSolver} did
+ * before returning a guess.
+ */
+public final class AnytimeReport {
+    private final long guess;
+    private final int rounds;
+    private final int sampleSize;
+    private final long guessesEvaluated;
+    private final long remaining;
+    private final long spaceSize;
+    private final boolean exact;
+    private final long elapsedMillis;
+
+    /**
+     * Constructs an {@code AnytimeReport}.
+     *
+     * @param guess            The packed guess returned.
+     * @param rounds           The number of refinement rounds completed.
+     * @param sampleSize       The number of candidates the guess was judged against.
+     * @param guessesEvaluated The number of guesses scored, over all rounds.
+     * @param remaining        The number of remaining candidates, or an estimate for large spaces.
+     * @param spaceSize        The number of codes in the configuration.
+     * @param exact            True if every candidate and every code was considered.
+     * @param elapsedMillis    The time taken, in milliseconds.
+     */
+    public AnytimeReport(long guess, int rounds, int sampleSize, long guessesEvaluated, long remaining,
+                         long spaceSize, boolean exact, long elapsedMillis) {
+        this.guess = guess;
+        this.rounds = rounds;
+        this.sampleSize = sampleSize;
+        this.guessesEvaluated = guessesEvaluated;
+        this.remaining = remaining;
+        this.spaceSize = spaceSize;
+        this.exact = exact;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the guess that was returned.
+     *
+     * @return The packed guess.
+     */
+    public long getGuess() {
+        return guess;
+    }
+
+    /**
+     * Gets the number of refinement rounds completed before the deadline.
+     *
+     * @return The number of rounds; {@code 0} means the heuristic guess was returned.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the number of candidates the returned guess was judged against.
+     *
+     * @return The size of the last complete sample.
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Gets the number of guesses scored against a sample, over all rounds.
+     *
+     * @return The number of guesses evaluated.
+     */
+    public long getGuessesEvaluated() {
+        return guessesEvaluated;
+    }
+
+    /**
+     * Gets the number of candidates remaining when the search started.
+     *
+     * @return The number of remaining candidates, estimated by sampling for large spaces.
+     */
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Gets the share of the remaining candidates the guess was judged against.
+     *
+     * @return A fraction between 0 and 1.
+     */
+    public double getCandidateCoverage() {
+        return remaining == 0 ? 1.0 : Math.min(1.0, (double) sampleSize / remaining);
+    }
+
+    /**
+     * Gets the share of the code space that was tried as a guess.
+     *
+     * @return A fraction between 0 and 1.
+     */
+    public double getGuessCoverage() {
+        return Math.min(1.0, (double) guessesEvaluated / spaceSize);
+    }
+
+    /**
+     * Checks if the search considered every candidate and every code.
+     *
+     * @return True if the guess is the exact best under the objective.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Gets the time the search took.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "AnytimeReport{rounds=" + rounds + ", sampleSize=" + sampleSize + ", guessesEvaluated="
+                + guessesEvaluated + ", remaining=" + remaining + ", exact=" + exact
+                + ", elapsedMillis=" + elapsedMillis + "}";
+    }
+}
@@ -0,0 +1,361 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code AnytimeSolver} class chooses guesses within a time limit on configurations of
+ * any size.
+ *
+ * <p>
+ * A search starts from a cheap heuristic guess and then refines it in rounds. Each round
+ * draws a sample of the remaining candidates and a pool of guesses, both twice as large as in
+ * the previous round, and scores every guess in the pool against the sample. The guess with
+ * the smallest expected partition (the sum of squared partition sizes), preferring consistent
+ * guesses, replaces the answer when its round completes; the previous answer is always in the
+ * next pool, so a later round never judges it unfairly. When the deadline passes the search
+ * returns the answer held so far, and {@link #getLastReport()} tells how much of the space it
+ * covered.
+ * </p>
+ *
+ * <p>
+ * Up to {@link CandidateSetFactory#HEAP_MAX_CODES} codes the candidates are tracked in a
+ * {@link CandidateSet}, which is filtered on each update. Above that, filtering the whole space
+ * could not be bounded in time, so the solver only records the history and samples candidates
+ * by drawing random codes and keeping those consistent with every guess. The acceptance rate
+ * gives the estimate returned by {@link #getRemaining()}.
+ * </p>
+ */
+public class AnytimeSolver implements Solver {
+    /** The default time limit per guess in milliseconds. */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 100L;
+
+    private static final int INITIAL_SAMPLE = 64;
+    private static final int MAX_SAMPLE = 1 << 13;
+    private static final int INITIAL_POOL = 16;
+    private static final int MAX_POOL = 1 << 12;
+    private static final int SPARSE_RATIO = 64;
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final String validCharacters;
+    private final CodeSpace space;
+    private final CandidateSet candidates;
+    private final long timeoutMillis;
+    private final Random random;
+
+    private long[] historyGuesses = new long[8];
+    private int[] historyScores = new int[8];
+    private int historySize;
+    private long estimatedRemaining;
+    private AnytimeReport lastReport;
+
+    /**
+     * Constructs an {@code AnytimeSolver} with the default time limit.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     */
+    public AnytimeSolver(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        this(strategy, codeLength, validCharacters, DEFAULT_TIMEOUT_MILLIS, new Random());
+    }
+
+    /**
+     * Constructs an {@code AnytimeSolver}.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param timeoutMillis   The time limit used by {@link #nextGuess()}, in milliseconds.
+     * @param random          The source of randomness for sampling.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public AnytimeSolver(ScoreStrategy strategy, int codeLength, String validCharacters,
+                         long timeoutMillis, Random random) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = validCharacters.length();
+        this.validCharacters = validCharacters;
+        this.space = new CodeSpace(codeLength, numVars);
+        this.candidates = space.size() <= CandidateSetFactory.HEAP_MAX_CODES
+                ? CandidateSetFactory.createCandidateSet("auto", strategy, codeLength, numVars)
+                : null;
+        this.timeoutMillis = timeoutMillis;
+        this.random = random;
+        this.estimatedRemaining = space.size();
+    }
+
+    /**
+     * Chooses the next guess within the solver's default time limit.
+     */
+    @Override
+    public long nextGuess() {
+        return nextGuess(timeoutMillis);
+    }
+
+    /**
+     * Chooses the next guess within a time limit.
+     *
+     * @param timeoutMillis The time limit in milliseconds.
+     * @return The packed guess.
+     * @throws IllegalStateException if no candidate code is consistent with the history.
+     */
+    public long nextGuess(long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000;
+        if (candidates != null && candidates.cardinality() == 0) {
+            throw new IllegalStateException("No candidate code is consistent with the feedback.");
+        }
+        if (candidates != null && candidates.cardinality() == 1) {
+            long guess = space.unrank(candidates.nextCandidate(0));
+            lastReport = new AnytimeReport(guess, 0, 1, 0, 1, space.size(), true, 0);
+            return guess;
+        }
+
+        long best = heuristicGuess();
+        int rounds = 0;
+        int judgedAgainst = 0;
+        long evaluated = 0;
+        boolean exact = false;
+        long[] sample = new long[MAX_SAMPLE];
+        long[] pool = new long[MAX_POOL];
+        int sampleTarget = INITIAL_SAMPLE;
+        int poolTarget = INITIAL_POOL;
+
+        while (!exact && System.nanoTime() - deadline < 0) {
+            int sampleSize = sample(sample, sampleTarget, deadline);
+            if (sampleSize == 0) {
+                break;
+            }
+            boolean allCandidates = candidates != null && sampleSize == candidates.cardinality();
+            int poolSize = pool(pool, poolTarget, best, sample, sampleSize);
+
+            Round round = new Round(sample, sampleSize);
+            for (int i = 0; i < poolSize && !round.stopped; i++) {
+                round.evaluate(pool[i], deadline);
+            }
+            evaluated += round.evaluated;
+            if (round.stopped) {
+                break;
+            }
+
+            best = round.best;
+            rounds++;
+            judgedAgainst = sampleSize;
+            exact = allCandidates && poolSize == space.size();
+            if (sampleTarget == MAX_SAMPLE && poolTarget == MAX_POOL) {
+                break;
+            }
+            sampleTarget = Math.min(MAX_SAMPLE, sampleTarget * 2);
+            poolTarget = Math.min(MAX_POOL, poolTarget * 2);
+        }
+
+        lastReport = new AnytimeReport(best, rounds, judgedAgainst, evaluated, remaining(), space.size(), exact,
+                (System.nanoTime() - start) / 1_000_000);
+        return best;
+    }
+
+    /**
+     * Gets the report of the last search.
+     *
+     * @return The last report, or {@code null} if no guess has been chosen.
+     */
+    public AnytimeReport getLastReport() {
+        return lastReport;
+    }
+
+    @Override
+    public void update(long guess, int score) {
+        if (historySize == historyGuesses.length) {
+            historyGuesses = Arrays.copyOf(historyGuesses, historySize * 2);
+            historyScores = Arrays.copyOf(historyScores, historySize * 2);
+        }
+        historyGuesses[historySize] = guess;
+        historyScores[historySize++] = score;
+        if (candidates != null) {
+            candidates.retainMatching(guess, score);
+        }
+    }
+
+    /**
+     * Gets the number of remaining candidates, estimated by sampling for large spaces.
+     */
+    @Override
+    public int getRemaining() {
+        return (int) Math.min(Integer.MAX_VALUE, remaining());
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return validCharacters;
+    }
+
+    @Override
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    private long remaining() {
+        return candidates != null ? candidates.cardinality() : estimatedRemaining;
+    }
+
+    /**
+     * Picks the starting answer: pairs of symbols ({@code 1122...}) for the opening, the first
+     * candidate otherwise. Large spaces try a few random codes and then search for a consistent
+     * code with a {@link ConsistentCodeSampler}, which may overrun the deadline late in a game
+     * but never answers with a guess already known to be wrong.
+     *
+     * @throws IllegalStateException if no candidate code is consistent with the history.
+     */
+    private long heuristicGuess() {
+        if (historySize == 0) {
+            long guess = 0L;
+            for (int i = 0; i < codeLength; i++) {
+                guess |= (long) ((i / 2) % numVars) << (i * PackedCode.BITS_PER_POSITION);
+            }
+            return guess;
+        }
+        if (candidates != null) {
+            return space.unrank(candidates.nextCandidate(0));
+        }
+        for (int i = 0; i < CLOCK_INTERVAL; i++) {
+            long code = space.random(random);
+            if (isConsistent(code)) {
+                return code;
+            }
+        }
+        long code = new ConsistentCodeSampler(strategy, codeLength, numVars, historyGuesses, historyScores, historySize)
+                .sample(new SplittableRandom(random.nextLong()), Long.MAX_VALUE);
+        if (code < 0) {
+            throw new IllegalStateException("No candidate code is consistent with the feedback.");
+        }
+        return code;
+    }
+
+    /**
+     * Draws up to {@code target} remaining candidates. Small sets are taken whole; dense sets
+     * are sampled by rejection, sparse sets by taking the candidate after a random index.
+     *
+     * @return The number of candidates drawn.
+     */
+    private int sample(long[] out, int target, long deadline) {
+        if (candidates == null) {
+            return sampleByHistory(out, target, deadline);
+        }
+        long cardinality = candidates.cardinality();
+        int n = 0;
+        if (cardinality <= target) {
+            for (long i = candidates.nextCandidate(0); i >= 0; i = candidates.nextCandidate(i + 1)) {
+                out[n++] = space.unrank(i);
+            }
+        } else if (cardinality * SPARSE_RATIO >= space.size()) {
+            while (n < target) {
+                long index = random.nextLong(space.size());
+                if (candidates.contains(index)) {
+                    out[n++] = space.unrank(index);
+                }
+            }
+        } else {
+            while (n < target) {
+                long index = candidates.nextCandidate(random.nextLong(space.size()));
+                out[n++] = space.unrank(index >= 0 ? index : candidates.nextCandidate(0));
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Draws random codes and keeps those consistent with the history, until the target or the
+     * deadline is reached, and updates the estimate of the remaining candidates.
+     */
+    private int sampleByHistory(long[] out, int target, long deadline) {
+        int n = 0;
+        long attempts = 0;
+        while (n < target) {
+            if (++attempts % CLOCK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                break;
+            }
+            long code = space.random(random);
+            if (isConsistent(code)) {
+                out[n++] = code;
+            }
+        }
+        if (n > 0) {
+            estimatedRemaining = Math.max(1L, (long) ((double) space.size() * n / attempts));
+        }
+        return n;
+    }
+
+    /**
+     * Fills the guess pool: the current answer, every code if the space is small enough, and
+     * otherwise half sampled candidates and half random codes.
+     *
+     * @return The number of guesses in the pool.
+     */
+    private int pool(long[] pool, int target, long best, long[] sample, int sampleSize) {
+        if (space.size() <= target) {
+            long[] codes = space.codes(false).toArray();
+            System.arraycopy(codes, 0, pool, 0, codes.length);
+            return codes.length;
+        }
+        int n = 0;
+        pool[n++] = best;
+        for (int i = 0; i < sampleSize && n < target / 2; i++) {
+            pool[n++] = sample[i];
+        }
+        while (n < target) {
+            pool[n++] = space.random(random);
+        }
+        return n;
+    }
+
+    private boolean isConsistent(long code) {
+        if (candidates != null) {
+            return candidates.contains(space.rank(code));
+        }
+        for (int i = 0; i < historySize; i++) {
+            if (strategy.score(historyGuesses[i], code, codeLength, numVars) != historyScores[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scores the guesses of one round against its sample and keeps the best.
+     */
+    private final class Round {
+        private final SampleScorer scorer;
+        private long best;
+        private long bestSum = Long.MAX_VALUE;
+        private boolean bestIsCandidate;
+        private int evaluated;
+        private boolean stopped;
+
+        Round(long[] sample, int sampleSize) {
+            this.scorer = new SampleScorer(strategy, codeLength, numVars, sample, sampleSize);
+        }
+
+        void evaluate(long guess, long deadline) {
+            if (System.nanoTime() - deadline > 0) {
+                stopped = true;
+                return;
+            }
+            long sum = scorer.sumOfSquares(guess);
+            evaluated++;
+            if (sum < bestSum || (sum == bestSum && !bestIsCandidate && isConsistent(guess))) {
+                best = guess;
+                bestSum = sum;
+                bestIsCandidate = isConsistent(guess);
+            }
+        }
+    }
+}
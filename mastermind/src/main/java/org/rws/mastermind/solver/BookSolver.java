@@ -0,0 +1,70 @@
+package org.rws.mastermind.solver;
+
+/**
+ * The {@code BookSolver} class plays a solver's first decisions from an {@link OpeningBook}.
+ *
+ * <p>
+ * While every guess so far came from the book, the next guess is a single lookup keyed by
+ * the feedback received. Once the game leaves the book, or the book runs out of depth, the
+ * wrapped solver decides. The wrapped solver is updated on every turn either way, so it
+ * always holds the current candidate set.
+ * </p>
+ */
+public class BookSolver implements Solver {
+    private final OpeningBook book;
+    private final Solver delegate;
+    private long key;
+    private long bookGuess = -1L;
+
+    /**
+     * Constructs a {@code BookSolver}.
+     *
+     * @param book     The opening book built for the wrapped solver's type and configuration.
+     * @param delegate The solver that decides once the game leaves the book.
+     */
+    public BookSolver(OpeningBook book, Solver delegate) {
+        this.book = book;
+        this.delegate = delegate;
+        this.key = book.rootKey();
+    }
+
+    /**
+     * Looks the guess up in the book, or asks the wrapped solver if the game has left it.
+     */
+    @Override
+    public long nextGuess() {
+        bookGuess = book.guessFor(key);
+        return bookGuess >= 0 ? bookGuess : delegate.nextGuess();
+    }
+
+    @Override
+    public void update(long guess, int score) {
+        key = guess == bookGuess ? book.childKey(key, score) : -1L;
+        bookGuess = -1L;
+        delegate.update(guess, score);
+    }
+
+    @Override
+    public int getRemaining() {
+        return delegate.getRemaining();
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return delegate.getValidCharacters();
+    }
+
+    @Override
+    public int getCodeLength() {
+        return delegate.getCodeLength();
+    }
+
+    /**
+     * Checks if the next guess will come from the book.
+     *
+     * @return True if the game is still in the book.
+     */
+    public boolean isInBook() {
+        return book.guessFor(key) >= 0;
+    }
+}
@@ -0,0 +1,69 @@
+package org.rws.mastermind.solver;
+
+/**
+ * The {@code CandidateSet} interface holds the codes that are still consistent with a
+ * game's feedback.
+ *
+ * <p>
+ * Codes are identified by their mixed-radix index (see
+ * {@link org.rws.mastermind.code.PackedCode#toIndex(long, int, int)}). A set starts as the
+ * whole code space and is narrowed in place by {@link #retainMatching(long, int)} after each
+ * guess. Implementations trade memory for speed differently, so callers obtain one from
+ * {@link CandidateSetFactory} rather than choosing directly. Sets are not thread-safe; each
+ * belongs to one game.
+ * </p>
+ */
+public interface CandidateSet {
+
+    /**
+     * Gets the number of codes in the configuration.
+     *
+     * @return The size of the code space.
+     */
+    long spaceSize();
+
+    /**
+     * Gets the number of codes still in the set.
+     *
+     * @return The number of remaining candidates.
+     */
+    long cardinality();
+
+    /**
+     * Checks if a code is still in the set.
+     *
+     * @param index The mixed-radix index of the code.
+     * @return True if the code is a remaining candidate.
+     */
+    boolean contains(long index);
+
+    /**
+     * Finds the first code in the set at or after an index, for iteration.
+     *
+     * @param from The mixed-radix index to start from.
+     * @return The index of the next remaining candidate, or {@code -1} if there is none.
+     */
+    long nextCandidate(long from);
+
+    /**
+     * Removes every code that would not have given a score to a guess.
+     *
+     * @param guess The packed guess.
+     * @param score The packed score it received.
+     */
+    void retainMatching(long guess, int score);
+
+    /**
+     * Gets the memory used by the set, for reporting.
+     *
+     * @return The approximate number of bytes held.
+     */
+    long memoryBytes();
+
+    /**
+     * Copies the set, so that it can be narrowed without affecting this one.
+     *
+     * @return An independent set with the same candidates.
+     */
+    CandidateSet copy();
+}
@@ -0,0 +1,80 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Factory class for creating {@link CandidateSet} objects sized for a configuration.
+ *
+ * <p>
+ * Tracking candidates costs memory and a pass over the set per guess, so it is only offered
+ * up to a size threshold, set with the {@code mastermind.candidates.maxCodes} system property.
+ * Above it the factory returns {@code null} and callers carry on without a candidate set.
+ * Callers that need larger configurations ask for an implementation by type.
+ * </p>
+ */
+public class CandidateSetFactory {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateSetFactory.class);
+
+    /** The default largest code space for which candidates are tracked (2 MiB even as a dense bitset). */
+    public static final long DEFAULT_MAX_CODES = 1L << 24;
+
+    /** The largest code space that defaults to an on-heap {@link CompressedCandidateSet}. */
+    public static final long HEAP_MAX_CODES = 1L << 24;
+
+    /**
+     * Creates a {@link CandidateSet} holding the whole code space.
+     *
+     * @param strategy   The score strategy that produces the feedback.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return A candidate set, or {@code null} if the configuration is above the threshold.
+     */
+    public static CandidateSet createCandidateSet(ScoreStrategy strategy, int codeLength, int numVars) {
+        long maxCodes = Long.getLong("mastermind.candidates.maxCodes", DEFAULT_MAX_CODES);
+        if (PackedCode.spaceSize(codeLength, numVars) > maxCodes) {
+            return null;
+        }
+        return createCandidateSet("auto", strategy, codeLength, numVars);
+    }
+
+    /**
+     * Creates a {@link CandidateSet} of a given type holding the whole code space.
+     *
+     * @param type       The implementation:
+     *                   <ul>
+     *                       <li>{@code "dense"}: {@link DenseCandidateSet}</li>
+     *                       <li>{@code "compressed"}: {@link CompressedCandidateSet}</li>
+     *                       <li>{@code "offheap"}: {@link OffHeapCandidateSet}</li>
+     *                       <li>Default: compressed up to {@link #HEAP_MAX_CODES} codes, off-heap above</li>
+     *                   </ul>
+     * @param strategy   The score strategy that produces the feedback.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @return A candidate set, or {@code null} if the space is too large for the type or
+     *         off-heap memory could not be mapped.
+     */
+    public static CandidateSet createCandidateSet(String type, ScoreStrategy strategy, int codeLength, int numVars) {
+        long space = PackedCode.spaceSize(codeLength, numVars);
+        try {
+            return switch (type) {
+                case "dense" -> space <= DenseCandidateSet.MAX_CODES
+                        ? new DenseCandidateSet(strategy, codeLength, numVars) : null;
+                case "compressed" -> space <= CompressedCandidateSet.MAX_CODES
+                        ? new CompressedCandidateSet(strategy, codeLength, numVars) : null;
+                case "offheap" -> space <= OffHeapCandidateSet.MAX_CODES
+                        ? new OffHeapCandidateSet(strategy, codeLength, numVars) : null;
+                default -> space <= HEAP_MAX_CODES
+                        ? new CompressedCandidateSet(strategy, codeLength, numVars)
+                        : createCandidateSet("offheap", strategy, codeLength, numVars);
+            };
+        } catch (UncheckedIOException e) {
+            logger.error("Error creating candidate set: ", e);
+            return null;
+        }
+    }
+}
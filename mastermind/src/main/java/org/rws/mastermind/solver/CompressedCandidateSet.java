@@ -0,0 +1,476 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code CompressedCandidateSet} class keeps candidates in a Roaring-style compressed
+ * bitmap.
+ *
+ * <p>
+ * The code space is cut into blocks of 65536 indices. Each non-empty block is held by the
+ * smallest of three containers: a sorted array of the low 16 bits when it has few candidates,
+ * a list of runs when its candidates are clustered, or a 8 KiB bitmap otherwise. A fresh set is
+ * one run per block, and after a couple of guesses most blocks are empty or small, so a set
+ * typically takes a small fraction of a dense bitmap.
+ * </p>
+ *
+ * <p>
+ * Containers are immutable: filtering builds new ones, and {@link #copy()} only copies the
+ * block directory, so look-ahead searches can clone a set cheaply.
+ * {@link #and(CompressedCandidateSet)} intersects two sets container by container.
+ * </p>
+ */
+public final class CompressedCandidateSet implements CandidateSet {
+    /** The largest code space a compressed set can hold. */
+    public static final long MAX_CODES = 1L << 40;
+
+    private static final int BLOCK_BITS = 16;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int BLOCK_WORDS = BLOCK_SIZE / Long.SIZE;
+    private static final int ARRAY_MAX = 4096;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final long spaceSize;
+    private int[] keys;
+    private Container[] containers;
+    private int size;
+    private long cardinality;
+
+    /**
+     * Constructs a {@code CompressedCandidateSet} holding the whole code space.
+     *
+     * @param strategy   The score strategy that produces the feedback.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the code space is too large.
+     */
+    public CompressedCandidateSet(ScoreStrategy strategy, int codeLength, int numVars) {
+        this.spaceSize = PackedCode.spaceSize(codeLength, numVars);
+        if (spaceSize > MAX_CODES) {
+            throw new IllegalArgumentException("Code space of " + spaceSize + " codes is too large for a compressed set.");
+        }
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.size = (int) ((spaceSize + BLOCK_SIZE - 1) >>> BLOCK_BITS);
+        this.keys = new int[size];
+        this.containers = new Container[size];
+        for (int k = 0; k < size; k++) {
+            keys[k] = k;
+            int length = (int) Math.min(BLOCK_SIZE, spaceSize - ((long) k << BLOCK_BITS));
+            containers[k] = new RunContainer(new char[] { 0, (char) (length - 1) }, length);
+        }
+        this.cardinality = spaceSize;
+    }
+
+    private CompressedCandidateSet(CompressedCandidateSet other) {
+        this.strategy = other.strategy;
+        this.codeLength = other.codeLength;
+        this.numVars = other.numVars;
+        this.spaceSize = other.spaceSize;
+        this.keys = Arrays.copyOf(other.keys, other.size);
+        this.containers = Arrays.copyOf(other.containers, other.size);
+        this.size = other.size;
+        this.cardinality = other.cardinality;
+    }
+
+    @Override
+    public long spaceSize() {
+        return spaceSize;
+    }
+
+    @Override
+    public long cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    public boolean contains(long index) {
+        if (index < 0 || index >= spaceSize) {
+            return false;
+        }
+        int k = Arrays.binarySearch(keys, 0, size, (int) (index >>> BLOCK_BITS));
+        return k >= 0 && containers[k].contains((int) index & (BLOCK_SIZE - 1));
+    }
+
+    @Override
+    public long nextCandidate(long from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= spaceSize) {
+            return -1L;
+        }
+        int key = (int) (from >>> BLOCK_BITS);
+        int k = Arrays.binarySearch(keys, 0, size, key);
+        if (k >= 0) {
+            int low = containers[k].next((int) from & (BLOCK_SIZE - 1));
+            if (low >= 0) {
+                return ((long) key << BLOCK_BITS) | low;
+            }
+            k++;
+        } else {
+            k = -k - 1;
+        }
+        return k < size ? ((long) keys[k] << BLOCK_BITS) | containers[k].next(0) : -1L;
+    }
+
+    @Override
+    public void retainMatching(long guess, int score) {
+        WordFilter filter = new WordFilter(strategy, codeLength, numVars, guess, score);
+        long[] words = new long[BLOCK_WORDS];
+        int kept = 0;
+        long remaining = 0L;
+        for (int k = 0; k < size; k++) {
+            Arrays.fill(words, 0L);
+            containers[k].fill(words);
+            long base = (long) keys[k] << BLOCK_BITS;
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                words[w] = filter.retain(base + ((long) w << 6), words[w]);
+            }
+            Container container = Container.of(words);
+            if (container != null) {
+                keys[kept] = keys[k];
+                containers[kept++] = container;
+                remaining += container.cardinality();
+            }
+        }
+        Arrays.fill(containers, kept, size, null);
+        size = kept;
+        cardinality = remaining;
+    }
+
+    /**
+     * Removes every code that is not also in another set of the same configuration.
+     *
+     * @param other The set to intersect with.
+     * @throws IllegalArgumentException if the sets have different code spaces.
+     */
+    public void and(CompressedCandidateSet other) {
+        if (other.spaceSize != spaceSize) {
+            throw new IllegalArgumentException("Candidate sets have different code spaces.");
+        }
+        int kept = 0;
+        long remaining = 0L;
+        int j = 0;
+        for (int k = 0; k < size && j < other.size; k++) {
+            while (j < other.size && other.keys[j] < keys[k]) {
+                j++;
+            }
+            if (j == other.size || other.keys[j] != keys[k]) {
+                continue;
+            }
+            Container container = containers[k].and(other.containers[j]);
+            if (container != null) {
+                keys[kept] = keys[k];
+                containers[kept++] = container;
+                remaining += container.cardinality();
+            }
+        }
+        Arrays.fill(containers, kept, size, null);
+        size = kept;
+        cardinality = remaining;
+    }
+
+    @Override
+    public long memoryBytes() {
+        long bytes = 16L + (long) keys.length * Integer.BYTES + (long) containers.length * 8;
+        for (int k = 0; k < size; k++) {
+            bytes += containers[k].memoryBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public CandidateSet copy() {
+        return new CompressedCandidateSet(this);
+    }
+
+    /**
+     * The candidates of one block of 65536 indices, by their low 16 bits.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        /**
+         * Finds the first candidate at or after {@code low}, or {@code -1}.
+         */
+        abstract int next(int low);
+
+        /**
+         * Sets the bits of this container's candidates in a block bitmap.
+         */
+        abstract void fill(long[] words);
+
+        abstract long memoryBytes();
+
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] words = new long[BLOCK_WORDS];
+            long[] others = new long[BLOCK_WORDS];
+            fill(words);
+            other.fill(others);
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                words[w] &= others[w];
+            }
+            return of(words);
+        }
+
+        /**
+         * Builds the smallest container for a block bitmap.
+         *
+         * @return The container, or {@code null} if the block is empty.
+         */
+        static Container of(long[] words) {
+            int cardinality = 0;
+            int runs = 0;
+            long carry = 0L;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> (Long.SIZE - 1);
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+
+            int arrayBytes = cardinality * Character.BYTES;
+            int runBytes = runs * 2 * Character.BYTES;
+            if (runBytes < Math.min(arrayBytes, BLOCK_WORDS * Long.BYTES)) {
+                return RunContainer.of(words, runs, cardinality);
+            }
+            if (cardinality <= ARRAY_MAX) {
+                return ArrayContainer.of(words, cardinality);
+            }
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+    }
+
+    /**
+     * A sorted array of low bits, for sparse blocks.
+     */
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+
+        ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        static ArrayContainer of(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, (char) low) >= 0;
+        }
+
+        @Override
+        int next(int low) {
+            int i = Arrays.binarySearch(values, (char) low);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < values.length ? values[i] : -1;
+        }
+
+        @Override
+        void fill(long[] words) {
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        long memoryBytes() {
+            return 32L + (long) values.length * Character.BYTES;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] kept = new char[values.length];
+            int n = 0;
+            for (char value : values) {
+                if (other.contains(value)) {
+                    kept[n++] = value;
+                }
+            }
+            return n == 0 ? null : new ArrayContainer(Arrays.copyOf(kept, n));
+        }
+    }
+
+    /**
+     * A 65536-bit bitmap, for dense blocks.
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private final int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int next(int low) {
+            int w = low >>> 6;
+            long word = words[w] & (-1L << low);
+            while (word == 0) {
+                if (++w == BLOCK_WORDS) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        void fill(long[] words) {
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                words[w] |= this.words[w];
+            }
+        }
+
+        @Override
+        long memoryBytes() {
+            return 32L + (long) BLOCK_WORDS * Long.BYTES;
+        }
+    }
+
+    /**
+     * Pairs of run start and run length minus one, for clustered blocks.
+     */
+    private static final class RunContainer extends Container {
+        private final char[] runs;
+        private final int cardinality;
+
+        RunContainer(char[] runs, int cardinality) {
+            this.runs = runs;
+            this.cardinality = cardinality;
+        }
+
+        static RunContainer of(long[] words, int count, int cardinality) {
+            char[] runs = new char[count * 2];
+            int n = 0;
+            for (int start = nextBit(words, 0, 0L); start >= 0; ) {
+                int end = nextBit(words, start, -1L);
+                int stop = end < 0 ? BLOCK_SIZE : end;
+                runs[n++] = (char) start;
+                runs[n++] = (char) (stop - 1 - start);
+                start = end < 0 ? -1 : nextBit(words, end, 0L);
+            }
+            return new RunContainer(runs, cardinality);
+        }
+
+        /**
+         * Finds the first bit at or after {@code from} that differs from {@code background}
+         * (all zeros to find set bits, all ones to find clear bits), or {@code -1}.
+         */
+        private static int nextBit(long[] words, int from, long background) {
+            int w = from >>> 6;
+            long word = (words[w] ^ background) & (-1L << from);
+            while (word == 0) {
+                if (++w == BLOCK_WORDS) {
+                    return -1;
+                }
+                word = words[w] ^ background;
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            int r = runBefore(low);
+            return r >= 0 && low - runs[2 * r] <= runs[2 * r + 1];
+        }
+
+        @Override
+        int next(int low) {
+            int r = runBefore(low);
+            if (r >= 0 && low - runs[2 * r] <= runs[2 * r + 1]) {
+                return low;
+            }
+            return 2 * (r + 1) < runs.length ? runs[2 * (r + 1)] : -1;
+        }
+
+        /**
+         * Finds the last run starting at or before {@code low}, or {@code -1}.
+         */
+        private int runBefore(int low) {
+            int lo = 0;
+            int hi = runs.length / 2 - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (runs[2 * mid] <= low) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return hi;
+        }
+
+        @Override
+        void fill(long[] words) {
+            for (int r = 0; r < runs.length; r += 2) {
+                int from = runs[r];
+                int to = from + runs[r + 1] + 1;
+                int firstWord = from >>> 6;
+                int lastWord = (to - 1) >>> 6;
+                long firstMask = -1L << from;
+                long lastMask = -1L >>> -to;
+                if (firstWord == lastWord) {
+                    words[firstWord] |= firstMask & lastMask;
+                } else {
+                    words[firstWord] |= firstMask;
+                    for (int w = firstWord + 1; w < lastWord; w++) {
+                        words[w] = -1L;
+                    }
+                    words[lastWord] |= lastMask;
+                }
+            }
+        }
+
+        @Override
+        long memoryBytes() {
+            return 32L + (long) runs.length * Character.BYTES;
+        }
+    }
+}
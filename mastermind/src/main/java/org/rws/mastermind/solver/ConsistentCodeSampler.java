@@ -0,0 +1,244 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code ConsistentCodeSampler} class finds codes consistent with a history of guesses
+ * without enumerating the code space.
+ *
+ * <p>
+ * Codes are built one position at a time by depth-first search. For standard feedback each
+ * partial code keeps, per guess, the black pegs and the common symbols it already has; a
+ * branch is cut as soon as either exceeds the feedback or can no longer reach it with the
+ * positions left, or when guesses whose black pegs are settled leave a later position with no
+ * possible symbol. Other strategies are only checked once a code is complete. Trying symbols
+ * in a random order gives random consistent codes; trying them in order enumerates them all.
+ * </p>
+ *
+ * <p>
+ * A sampler is immutable and may be shared; every search keeps its state in a
+ * {@link Search} owned by one thread.
+ * </p>
+ */
+final class ConsistentCodeSampler {
+    private static final long CLOCK_MASK = (1L << 10) - 1;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final int historySize;
+    private final long[] guesses;
+    private final int[] scores;
+    private final boolean prunable;
+    private final int[][] guessSymbols;
+    private final int[][] guessCounts;
+    private final int[] targetBlack;
+    private final int[] targetCommon;
+
+    ConsistentCodeSampler(ScoreStrategy strategy, int codeLength, int numVars,
+                          long[] guesses, int[] scores, int historySize) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.historySize = historySize;
+        this.guesses = Arrays.copyOf(guesses, historySize);
+        this.scores = Arrays.copyOf(scores, historySize);
+        this.prunable = strategy instanceof BasicStrategy;
+        this.guessSymbols = new int[historySize][codeLength];
+        this.guessCounts = new int[historySize][numVars];
+        this.targetBlack = new int[historySize];
+        this.targetCommon = new int[historySize];
+        for (int i = 0; i < historySize; i++) {
+            for (int p = 0; p < codeLength; p++) {
+                int symbol = PackedCode.symbolAt(guesses[i], p);
+                guessSymbols[i][p] = symbol;
+                guessCounts[i][symbol]++;
+            }
+            targetBlack[i] = BasicStrategy.blackPegs(scores[i]);
+            targetCommon[i] = targetBlack[i] + BasicStrategy.whitePegs(scores[i]);
+        }
+    }
+
+    /**
+     * Finds a random consistent code.
+     *
+     * @param random     The source of randomness.
+     * @param nodeBudget The number of partial codes the search may visit.
+     * @return The packed code, or {@code -1} if none was found within the budget.
+     */
+    long sample(SplittableRandom random, long nodeBudget) {
+        Search search = new Search(random, nodeBudget, 0L, 1);
+        search.extend(0);
+        return search.found > 0 ? search.results[0] : -1L;
+    }
+
+    /**
+     * Lists every consistent code, if there are few enough.
+     *
+     * @param max      The largest number of codes to list.
+     * @param deadline The {@link System#nanoTime()} by which the search must finish.
+     * @return The packed codes, or {@code null} if there are more than {@code max} or the
+     *         deadline passed first.
+     */
+    long[] enumerate(int max, long deadline) {
+        Search search = new Search(null, Long.MAX_VALUE, deadline, max + 1);
+        search.extend(0);
+        if (search.aborted || search.found > max) {
+            return null;
+        }
+        return Arrays.copyOf(search.results, search.found);
+    }
+
+    /**
+     * The state of one depth-first search.
+     */
+    private final class Search {
+        private final SplittableRandom random;
+        private final long[] results;
+        private final int[][] order = new int[codeLength][numVars];
+        private final int[] black = new int[historySize];
+        private final int[] common = new int[historySize];
+        private final int[] counts = new int[numVars];
+        private long code;
+        private final long deadline;
+        private long nodesLeft;
+        private int found;
+        private boolean aborted;
+
+        Search(SplittableRandom random, long nodeBudget, long deadline, int limit) {
+            this.random = random;
+            this.nodesLeft = nodeBudget;
+            this.deadline = deadline;
+            this.results = new long[limit];
+        }
+
+        /**
+         * Tries every symbol at a position.
+         *
+         * @return True to stop the whole search.
+         */
+        boolean extend(int position) {
+            if (position == codeLength) {
+                if (prunable || matchesHistory()) {
+                    results[found++] = code;
+                }
+                return found == results.length;
+            }
+            if (--nodesLeft < 0 || (deadline != 0L && (nodesLeft & CLOCK_MASK) == 0
+                    && System.nanoTime() - deadline > 0)) {
+                aborted = true;
+                return true;
+            }
+
+            int[] symbols = order[position];
+            for (int s = 0; s < numVars; s++) {
+                symbols[s] = s;
+            }
+            if (random != null) {
+                for (int s = numVars - 1; s > 0; s--) {
+                    int j = random.nextInt(s + 1);
+                    int t = symbols[s];
+                    symbols[s] = symbols[j];
+                    symbols[j] = t;
+                }
+            }
+
+            int shift = position * PackedCode.BITS_PER_POSITION;
+            for (int s = 0; s < numVars; s++) {
+                int symbol = symbols[s];
+                if (prunable && !place(position, symbol)) {
+                    unplace(position, symbol);
+                    continue;
+                }
+                code |= (long) symbol << shift;
+                boolean stop = extend(position + 1);
+                code &= ~(0xFL << shift);
+                if (prunable) {
+                    unplace(position, symbol);
+                }
+                if (stop) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a symbol to every guess's peg counts.
+         *
+         * @return False if some guess's feedback can no longer be met.
+         */
+        private boolean place(int position, int symbol) {
+            int left = codeLength - position - 1;
+            boolean feasible = true;
+            for (int i = 0; i < historySize; i++) {
+                if (guessSymbols[i][position] == symbol) {
+                    black[i]++;
+                }
+                if (counts[symbol] < guessCounts[i][symbol]) {
+                    common[i]++;
+                }
+                feasible &= black[i] <= targetBlack[i] && black[i] + left >= targetBlack[i]
+                        && common[i] <= targetCommon[i] && common[i] + left >= targetCommon[i];
+            }
+            counts[symbol]++;
+            return feasible && positionsAgree(position);
+        }
+
+        /**
+         * Checks the positions after {@code position} against the guesses whose black pegs are
+         * settled: a guess with all its black pegs forbids its symbol at every later position,
+         * and a guess that needs every later position to match forces its symbol there.
+         *
+         * @return False if two guesses make a later position impossible.
+         */
+        private boolean positionsAgree(int position) {
+            for (int p = position + 1; p < codeLength; p++) {
+                int forced = -1;
+                int forbidden = 0;
+                for (int i = 0; i < historySize; i++) {
+                    int need = targetBlack[i] - black[i];
+                    int symbol = guessSymbols[i][p];
+                    if (need == 0) {
+                        forbidden |= 1 << symbol;
+                    } else if (need == codeLength - position - 1) {
+                        if (forced >= 0 && forced != symbol) {
+                            return false;
+                        }
+                        forced = symbol;
+                    }
+                }
+                if (forbidden == (1 << numVars) - 1 || (forced >= 0 && (forbidden & (1 << forced)) != 0)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void unplace(int position, int symbol) {
+            counts[symbol]--;
+            for (int i = 0; i < historySize; i++) {
+                if (guessSymbols[i][position] == symbol) {
+                    black[i]--;
+                }
+                if (counts[symbol] < guessCounts[i][symbol]) {
+                    common[i]--;
+                }
+            }
+        }
+
+        private boolean matchesHistory() {
+            for (int i = 0; i < historySize; i++) {
+                if (strategy.score(guesses[i], code, codeLength, numVars) != scores[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
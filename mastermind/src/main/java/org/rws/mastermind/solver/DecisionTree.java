@@ -0,0 +1,158 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * The {@code DecisionTree} class holds a solver's complete strategy for one configuration,
+ * as built by {@link DecisionTreeAnalyzer}.
+ *
+ * <p>
+ * Each node is a guess, and each of its children is the node reached after one feedback.
+ * Identical candidate sets share a node, so the tree is stored as a directed acyclic graph.
+ * The depth histogram counts, for every number of guesses, the secret codes the solver
+ * needs exactly that many guesses to find. A tree is immutable.
+ * </p>
+ */
+public final class DecisionTree {
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final String validCharacters;
+    private final Node root;
+    private final long elapsedMillis;
+
+    DecisionTree(ScoreStrategy strategy, int codeLength, String validCharacters, Node root, long elapsedMillis) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+        this.root = root;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of secret codes the tree solves.
+     *
+     * @return The size of the code space.
+     */
+    public long getSecrets() {
+        return root.secrets;
+    }
+
+    /**
+     * Gets the largest number of guesses needed for any secret code.
+     *
+     * @return The depth of the tree.
+     */
+    public int getWorstCase() {
+        return root.histogram.length - 1;
+    }
+
+    /**
+     * Gets the average number of guesses over all secret codes.
+     *
+     * @return The total number of guesses divided by the number of secret codes.
+     */
+    public double getAverage() {
+        return (double) root.totalGuesses / root.secrets;
+    }
+
+    /**
+     * Gets the depth histogram.
+     *
+     * @return An array whose element {@code k} is the number of secret codes solved
+     *         with exactly {@code k} guesses.
+     */
+    public long[] getHistogram() {
+        return root.histogram.clone();
+    }
+
+    /**
+     * Gets the time taken to build the tree.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Writes the tree as indented text, one line per node. The root line holds the opening
+     * guess; every other line holds the feedback that leads to the node, rendered by the
+     * score strategy, followed by the next guess. A secret found by a guess has no line of
+     * its own.
+     *
+     * @param out The writer receiving the tree.
+     * @throws IOException if writing fails.
+     */
+    public void export(Writer out) throws IOException {
+        out.write(PackedCode.unpack(root.guess, codeLength, validCharacters));
+        out.write('\n');
+        exportChildren(out, root, 1);
+    }
+
+    private void exportChildren(Writer out, Node node, int depth) throws IOException {
+        for (int i = 0; i < node.children.length; i++) {
+            Node child = node.children[i];
+            out.write("  ".repeat(depth));
+            out.write(strategy.render(node.scores[i], node.guess, codeLength, validCharacters));
+            out.write(" -> ");
+            out.write(PackedCode.unpack(child.guess, codeLength, validCharacters));
+            out.write('\n');
+            exportChildren(out, child, depth + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DecisionTree{secrets=" + getSecrets()
+                + ", worstCase=" + getWorstCase()
+                + ", average=" + String.format("%.4f", getAverage())
+                + ", histogram=" + Arrays.toString(Arrays.copyOfRange(root.histogram, 1, root.histogram.length))
+                + ", elapsedMillis=" + elapsedMillis + "}";
+    }
+
+    /**
+     * One decision: the guess played for a candidate set and the subtrees for each feedback.
+     * The histogram counts guesses from this node, so shared nodes are valid at any depth.
+     */
+    static final class Node {
+        final long guess;
+        final int[] scores;
+        final Node[] children;
+        final long[] histogram;
+        final long secrets;
+        final long totalGuesses;
+
+        Node(long guess, boolean solvesGuess, int[] scores, Node[] children) {
+            this.guess = guess;
+            this.scores = scores;
+            this.children = children;
+
+            int depth = 1;
+            for (Node child : children) {
+                depth = Math.max(depth, child.histogram.length);
+            }
+            long[] counts = new long[depth + 1];
+            counts[1] = solvesGuess ? 1 : 0;
+            for (Node child : children) {
+                for (int k = 1; k < child.histogram.length; k++) {
+                    counts[k + 1] += child.histogram[k];
+                }
+            }
+
+            long secretCount = 0L;
+            long total = 0L;
+            for (int k = 1; k < counts.length; k++) {
+                secretCount += counts[k];
+                total += k * counts[k];
+            }
+            this.histogram = counts;
+            this.secrets = secretCount;
+            this.totalGuesses = total;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+import org.rws.mastermind.score.ScoreStrategyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code DecisionTreeAnalyzer} class builds a solver's complete decision tree for a
+ * configuration, to measure how many guesses it needs for every secret code.
+ *
+ * <p>
+ * Starting from the whole code space, each node puts a solver in the state its feedback path
+ * leads to, asks it for a guess and splits the candidates by the score each would give.
+ * Solvers that search the whole code space ({@link AbstractSolver}) are kept in a pool and
+ * restored to the node's candidate set, so the space is enumerated once per worker rather
+ * than once per node; other solvers replay the path on a fresh instance, as
+ * {@link OpeningBook} does. Children are computed in parallel, one fork/join task per feedback, and
+ * subtrees are memoised by a fingerprint of their candidate set (see
+ * {@link TranspositionTable.Key}), so a set reached along several paths is only searched
+ * once. This relies on the solver's decision depending only on the candidate set, which holds
+ * for every deterministic solver in this package. A single candidate is always guessed
+ * without asking the solver.
+ * </p>
+ *
+ * <p>
+ * Run {@link #main(String[])} to print the worst case, the average and the depth histogram
+ * of a configuration and optionally export the tree, for example to choose the number of
+ * rounds and difficulty tiers.
+ * </p>
+ */
+public final class DecisionTreeAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(DecisionTreeAnalyzer.class);
+
+    private final String type;
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final String validCharacters;
+    private final Map<TranspositionTable.Key, DecisionTree.Node> memo = new ConcurrentHashMap<>();
+    private final LongAdder memoHits = new LongAdder();
+    private final Queue<Solver> idleSolvers = new ConcurrentLinkedQueue<>();
+
+    private DecisionTreeAnalyzer(String type, ScoreStrategy strategy, int codeLength, String validCharacters) {
+        this.type = type;
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = validCharacters.length();
+        this.validCharacters = validCharacters;
+    }
+
+    /**
+     * Builds the complete decision tree of a solver.
+     *
+     * @param type            The solver type, as accepted by {@link SolverFactory}.
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @return The decision tree.
+     * @throws IllegalArgumentException if the code space is too large to analyse.
+     * @throws IllegalStateException    if the solver plays a guess that gives no information.
+     */
+    public static DecisionTree analyze(String type, ScoreStrategy strategy, int codeLength, String validCharacters) {
+        CodeSpace space = new CodeSpace(codeLength, validCharacters.length());
+        if (space.size() > AbstractSolver.MAX_CODES) {
+            throw new IllegalArgumentException("Code space too large to analyse: " + space.size() + " codes.");
+        }
+
+        long start = System.nanoTime();
+        DecisionTreeAnalyzer analyzer = new DecisionTreeAnalyzer(type, strategy, codeLength, validCharacters);
+        long[] codes = space.codes(false).toArray();
+        DecisionTree.Node root = ForkJoinPool.commonPool().invoke(
+                analyzer.new NodeTask(new long[0], new int[0], codes));
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Analysed " + type + " on " + codeLength + "x" + validCharacters.length() + " in " + elapsed
+                + " ms: " + analyzer.memo.size() + " distinct nodes, " + analyzer.memoHits.sum() + " memo hits");
+        return new DecisionTree(strategy, codeLength, validCharacters, root, elapsed);
+    }
+
+    /**
+     * Analyses one configuration from the command line.
+     *
+     * @param args The solver type, feedback type, code length and valid characters, and
+     *             optionally a file to export the tree to.
+     */
+    public static void main(String[] args) {
+        if (args.length < 4 || args.length > 5) {
+            System.out.println("Usage: DecisionTreeAnalyzer <solver type> <feedback type> <code length> "
+                    + "<valid characters> [export file]");
+            System.out.println("Example: DecisionTreeAnalyzer minimax standard 4 12345678 tree.txt");
+            return;
+        }
+
+        ScoreStrategy strategy = ScoreStrategyFactory.createStrategy(args[1]);
+        DecisionTree tree = analyze(args[0], strategy, Integer.parseInt(args[2]), args[3]);
+        long[] histogram = tree.getHistogram();
+
+        System.out.println("Secrets:    " + tree.getSecrets());
+        System.out.println("Worst case: " + tree.getWorstCase());
+        System.out.printf("Average:    %.4f%n", tree.getAverage());
+        System.out.println("Elapsed:    " + tree.getElapsedMillis() + " ms");
+        System.out.println("Guesses  Secrets");
+        for (int k = 1; k < histogram.length; k++) {
+            System.out.printf("%7d  %7d%n", k, histogram[k]);
+        }
+
+        if (args.length == 5) {
+            Path file = Paths.get(args[4]);
+            try (Writer out = Files.newBufferedWriter(file)) {
+                tree.export(out);
+                System.out.println("Exported tree to " + file);
+            } catch (IOException e) {
+                logger.error("Error exporting decision tree to " + file + ": ", e);
+            }
+        }
+    }
+
+    /**
+     * Asks a solver for its guess after a feedback path. A pooled solver is restored to the
+     * path's candidates and returned to the pool; any other solver replays the path.
+     */
+    private long decide(long[] pathGuesses, int[] pathScores, int[] indices) {
+        Solver solver = idleSolvers.poll();
+        if (solver == null) {
+            solver = SolverFactory.createSolver(type, strategy, codeLength, validCharacters);
+        }
+        if (solver instanceof AbstractSolver reusable) {
+            reusable.restore(pathGuesses, indices, indices.length);
+            long guess = reusable.nextGuess();
+            idleSolvers.offer(reusable);
+            return guess;
+        }
+
+        for (int i = 0; i < pathGuesses.length; i++) {
+            solver.update(pathGuesses[i], pathScores[i]);
+        }
+        return solver.nextGuess();
+    }
+
+    /**
+     * Builds the subtree for the candidates left after a feedback path, forking one task
+     * per feedback the guess can receive.
+     */
+    private final class NodeTask extends RecursiveTask<DecisionTree.Node> {
+        private final long[] pathGuesses;
+        private final int[] pathScores;
+        private final long[] candidates;
+
+        NodeTask(long[] pathGuesses, int[] pathScores, long[] candidates) {
+            this.pathGuesses = pathGuesses;
+            this.pathScores = pathScores;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected DecisionTree.Node compute() {
+            if (candidates.length == 1) {
+                return new DecisionTree.Node(candidates[0], true, new int[0], new DecisionTree.Node[0]);
+            }
+
+            int[] indices = new int[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                indices[i] = (int) PackedCode.toIndex(candidates[i], codeLength, numVars);
+            }
+            TranspositionTable.Key key = new TranspositionTable.Key(indices, indices.length);
+            DecisionTree.Node known = memo.get(key);
+            if (known != null) {
+                memoHits.increment();
+                return known;
+            }
+
+            long guess = decide(pathGuesses, pathScores, indices);
+
+            // Sort (score, position) pairs so each partition is a run that keeps index order.
+            long[] pairs = new long[candidates.length];
+            boolean solvesGuess = false;
+            int count = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                if (candidates[i] == guess) {
+                    solvesGuess = true;
+                } else {
+                    int score = strategy.score(guess, candidates[i], codeLength, numVars);
+                    pairs[count++] = (long) score << Integer.SIZE | i;
+                }
+            }
+            Arrays.sort(pairs, 0, count);
+
+            List<Integer> scores = new ArrayList<>();
+            List<NodeTask> children = new ArrayList<>();
+            int level = pathGuesses.length;
+            for (int from = 0; from < count; ) {
+                int score = (int) (pairs[from] >>> Integer.SIZE);
+                int to = from;
+                while (to < count && (int) (pairs[to] >>> Integer.SIZE) == score) {
+                    to++;
+                }
+                if (to - from == candidates.length) {
+                    throw new IllegalStateException("Solver " + type + " guessed "
+                            + PackedCode.unpack(guess, codeLength, validCharacters) + " without splitting "
+                            + candidates.length + " candidates.");
+                }
+
+                long[] part = new long[to - from];
+                for (int i = from; i < to; i++) {
+                    part[i - from] = candidates[(int) pairs[i]];
+                }
+                long[] guesses = Arrays.copyOf(pathGuesses, level + 1);
+                int[] path = Arrays.copyOf(pathScores, level + 1);
+                guesses[level] = guess;
+                path[level] = score;
+                scores.add(score);
+                children.add(new NodeTask(guesses, path, part));
+                from = to;
+            }
+            invokeAll(children);
+
+            DecisionTree.Node[] nodes = new DecisionTree.Node[children.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = children.get(i).join();
+            }
+            DecisionTree.Node node = new DecisionTree.Node(guess, solvesGuess,
+                    scores.stream().mapToInt(Integer::intValue).toArray(), nodes);
+            DecisionTree.Node previous = memo.putIfAbsent(key, node);
+            return previous != null ? previous : node;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code DenseCandidateSet} class keeps one bit per code of the configuration in a
+ * {@code long[]}.
+ *
+ * <p>
+ * Membership and cardinality are constant-time. Filtering rewrites each word with the bits
+ * whose codes match (see {@link WordFilter}), so its cost falls with the candidates left.
+ * The bitset takes {@code spaceSize / 8} bytes however few candidates remain.
+ * </p>
+ */
+public final class DenseCandidateSet implements CandidateSet {
+    /** The largest code space a dense set can hold. */
+    public static final long MAX_CODES = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final long spaceSize;
+    private final long[] words;
+    private long cardinality;
+
+    /**
+     * Constructs a {@code DenseCandidateSet} holding the whole code space.
+     *
+     * @param strategy   The score strategy that produces the feedback.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the code space is too large.
+     */
+    public DenseCandidateSet(ScoreStrategy strategy, int codeLength, int numVars) {
+        this.spaceSize = PackedCode.spaceSize(codeLength, numVars);
+        if (spaceSize > MAX_CODES) {
+            throw new IllegalArgumentException("Code space of " + spaceSize + " codes is too large for a dense set.");
+        }
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.words = new long[(int) ((spaceSize + Long.SIZE - 1) >>> 6)];
+        Arrays.fill(words, -1L);
+        int tail = (int) (spaceSize & (Long.SIZE - 1));
+        if (tail != 0) {
+            words[words.length - 1] = (1L << tail) - 1;
+        }
+        this.cardinality = spaceSize;
+    }
+
+    private DenseCandidateSet(DenseCandidateSet other) {
+        this.strategy = other.strategy;
+        this.codeLength = other.codeLength;
+        this.numVars = other.numVars;
+        this.spaceSize = other.spaceSize;
+        this.words = other.words.clone();
+        this.cardinality = other.cardinality;
+    }
+
+    @Override
+    public long spaceSize() {
+        return spaceSize;
+    }
+
+    @Override
+    public long cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    public boolean contains(long index) {
+        return index >= 0 && index < spaceSize && (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    @Override
+    public long nextCandidate(long from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= spaceSize) {
+            return -1L;
+        }
+        int w = (int) (from >>> 6);
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1L;
+            }
+            word = words[w];
+        }
+        return ((long) w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public void retainMatching(long guess, int score) {
+        WordFilter filter = new WordFilter(strategy, codeLength, numVars, guess, score);
+        long remaining = 0L;
+        for (int w = 0; w < words.length; w++) {
+            long kept = filter.retain((long) w << 6, words[w]);
+            words[w] = kept;
+            remaining += Long.bitCount(kept);
+        }
+        cardinality = remaining;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    @Override
+    public CandidateSet copy() {
+        return new DenseCandidateSet(this);
+    }
+}
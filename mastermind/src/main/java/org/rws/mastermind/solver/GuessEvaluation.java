@@ -0,0 +1,60 @@
+package org.rws.mastermind.solver;
+
+/**
+ * The {@code GuessEvaluation} class is the outcome of evaluating the guess space,
+ * possibly cut short by a deadline or cancellation.
+ */
+public final class GuessEvaluation {
+    private final PartitionStats best;
+    private final int evaluated;
+    private final int total;
+
+    /**
+     * Constructs a {@code GuessEvaluation}.
+     *
+     * @param best      The best guess found, or {@code null} if none was evaluated.
+     * @param evaluated The number of guesses evaluated.
+     * @param total     The number of guesses in the space.
+     */
+    public GuessEvaluation(PartitionStats best, int evaluated, int total) {
+        this.best = best;
+        this.evaluated = evaluated;
+        this.total = total;
+    }
+
+    /**
+     * Gets the statistics of the best guess found.
+     *
+     * @return The best guess, or {@code null} if the deadline passed before any was evaluated.
+     */
+    public PartitionStats getBest() {
+        return best;
+    }
+
+    /**
+     * Gets the number of guesses evaluated.
+     *
+     * @return The number of guesses evaluated.
+     */
+    public int getEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Gets the number of guesses in the space.
+     *
+     * @return The number of guesses in the space.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Checks if every guess was evaluated.
+     *
+     * @return True if the result is exact rather than the best so far.
+     */
+    public boolean isComplete() {
+        return evaluated == total;
+    }
+}
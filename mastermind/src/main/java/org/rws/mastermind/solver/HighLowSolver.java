@@ -0,0 +1,100 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.HighLowStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code HighLowSolver} class plays high/low feedback (see {@link HighLowStrategy}) by
+ * binary search.
+ *
+ * <p>
+ * Each position's hint only depends on the symbol guessed at that position, so the game is
+ * {@code codeLength} independent searches over the ordered valid characters. The solver keeps
+ * the interval of symbols still possible at each position and guesses the middle of every
+ * interval, which solves any code in at most {@code ceil(log2(numVars + 1))} guesses. Each
+ * decision and update takes {@code O(codeLength)} time, and the state is two small arrays.
+ * </p>
+ */
+public class HighLowSolver implements Solver {
+    private final int codeLength;
+    private final String validCharacters;
+    private final int[] low;
+    private final int[] high;
+
+    /**
+     * Constructs a {@code HighLowSolver} whose intervals cover every valid character.
+     *
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code, in the order hints compare them.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public HighLowSolver(int codeLength, String validCharacters) {
+        if (codeLength < 1 || codeLength > PackedCode.MAX_LENGTH
+                || validCharacters.isEmpty() || validCharacters.length() > PackedCode.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Unsupported configuration: length " + codeLength
+                    + " over " + validCharacters.length() + " symbols.");
+        }
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+        this.low = new int[codeLength];
+        this.high = new int[codeLength];
+        Arrays.fill(high, validCharacters.length() - 1);
+    }
+
+    @Override
+    public long nextGuess() {
+        long guess = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            if (low[i] > high[i]) {
+                throw new IllegalStateException("No code is consistent with the feedback given.");
+            }
+            guess |= (long) ((low[i] + high[i]) >>> 1) << (i * PackedCode.BITS_PER_POSITION);
+        }
+        return guess;
+    }
+
+    /**
+     * Narrows the interval of each position to the side its hint points to.
+     */
+    @Override
+    public void update(long guess, int score) {
+        for (int i = 0; i < codeLength; i++) {
+            int symbol = PackedCode.symbolAt(guess, i);
+            switch (HighLowStrategy.hintAt(score, i)) {
+                case HighLowStrategy.HIGHER -> low[i] = Math.max(low[i], symbol + 1);
+                case HighLowStrategy.LOWER -> high[i] = Math.min(high[i], symbol - 1);
+                default -> {
+                    low[i] = Math.max(low[i], symbol);
+                    high[i] = Math.min(high[i], symbol);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the product of the interval widths, saturated at {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public int getRemaining() {
+        long remaining = 1L;
+        for (int i = 0; i < codeLength; i++) {
+            remaining *= Math.max(0, high[i] - low[i] + 1);
+            if (remaining > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        return (int) remaining;
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return validCharacters;
+    }
+
+    @Override
+    public int getCodeLength() {
+        return codeLength;
+    }
+}
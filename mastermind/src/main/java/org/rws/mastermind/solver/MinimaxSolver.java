@@ -0,0 +1,130 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.score.ScoreStrategy;
+
+/**
+ * The {@code MinimaxSolver} class implements Knuth's minimax strategy.
+ *
+ * <p>
+ * Every code in the space is considered as a guess. A guess splits the remaining candidates
+ * into partitions by the score each candidate would give; the solver picks the guess whose
+ * largest partition is smallest, preferring a guess that could itself be the secret code,
+ * then the guess that comes first in reading order, as in Knuth's paper.
+ * </p>
+ *
+ * <p>
+ * The sequential search is specialised for this objective: partitions are counted in a
+ * primitive histogram indexed by packed score, and a guess is abandoned as soon as one
+ * partition exceeds the best worst case found so far, or reaches it when the guess could not
+ * win the tie (see {@link #search()}). Without a score table, candidates are scored in small
+ * batches so that an abandoned guess does not pay for scoring all of them. It allocates
+ * nothing per guess.
+ * </p>
+ */
+public class MinimaxSolver extends PartitionSolver {
+    private static final int SCORE_CHUNK = 16;
+
+    private final short[] chunk = new short[SCORE_CHUNK];
+
+    /**
+     * Constructs a {@code MinimaxSolver} for a configuration.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @throws IllegalArgumentException if the configuration is too large to search.
+     */
+    public MinimaxSolver(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        this(strategy, codeLength, validCharacters, null, 0L);
+    }
+
+    /**
+     * Constructs a {@code MinimaxSolver} that searches in parallel within a time limit.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param evaluator       The parallel evaluator, or {@code null} to search sequentially.
+     * @param timeoutMillis   The time limit per guess in milliseconds, or {@code 0} for none.
+     * @throws IllegalArgumentException if the configuration is too large to search.
+     */
+    public MinimaxSolver(ScoreStrategy strategy, int codeLength, String validCharacters,
+                         ParallelGuessEvaluator evaluator, long timeoutMillis) {
+        super(strategy, codeLength, validCharacters, "minimax", PartitionStats.BY_WORST_CASE,
+                evaluator, timeoutMillis);
+    }
+
+    /**
+     * Searches every code for the best minimax guess, pruning hopeless guesses early.
+     *
+     * <p>
+     * The candidates are scored first. Any other guess has to be strictly better than the best
+     * of them to win the tie, which gives the scan a tight bound from the start, and a
+     * candidate that leaves only single codes cannot be beaten at all.
+     * </p>
+     */
+    @Override
+    protected PartitionStats search() {
+        int bestRank = -1;
+        int bestWorst = Integer.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            int g = candidateIndices[i];
+            if (!isCanonicalGuess(g)) {
+                continue;
+            }
+            int worst = worstCase(g, bestWorst);
+            int rank = readingOrderIndex(g);
+            if (worst < bestWorst || (worst == bestWorst && rank < bestRank)) {
+                bestRank = rank;
+                bestWorst = worst;
+            }
+        }
+
+        for (int rank = 0; rank < codeCount && bestWorst > 1; rank++) {
+            int g = readingOrderIndex(rank);
+            if (isCandidate(g) || !isCanonicalGuess(g)) {
+                continue;
+            }
+            int worst = worstCase(g, bestWorst - 1);
+            if (worst < bestWorst) {
+                bestRank = rank;
+                bestWorst = worst;
+            }
+        }
+        return partitionStats(bestRank, histogram, scores);
+    }
+
+    /**
+     * Gets the size of the largest partition a guess produces.
+     *
+     * @param guessIndex The mixed-radix index of the guess.
+     * @param limit      The best worst case so far; counting stops once it is exceeded.
+     * @return The largest partition size, or a value above {@code limit} if the guess was abandoned.
+     */
+    private int worstCase(int guessIndex, int limit) {
+        int counted;
+        int worst = 0;
+        if (table != null) {
+            for (counted = 0; counted < candidateCount && worst <= limit; counted++) {
+                int score = table.score(guessIndex, candidateIndices[counted]);
+                scores[counted] = (short) score;
+                worst = Math.max(worst, ++histogram[score]);
+            }
+        } else {
+            long guess = codes[guessIndex];
+            for (counted = 0; counted < candidateCount && worst <= limit; ) {
+                int count = Math.min(SCORE_CHUNK, candidateCount - counted);
+                strategy.scoreBatch(guess, candidates, counted, count, chunk, codeLength, numVars);
+                for (int i = 0; i < count && worst <= limit; i++, counted++) {
+                    scores[counted] = chunk[i];
+                    worst = Math.max(worst, ++histogram[chunk[i] & 0xFFFF]);
+                }
+            }
+        }
+
+        for (int i = 0; i < counted; i++) {
+            histogram[scores[i] & 0xFFFF] = 0;
+        }
+        return worst;
+    }
+}
@@ -0,0 +1,224 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code MonteCarloSolver} class plays configurations whose consistent codes cannot be
+ * enumerated, such as length 10 to 12 over 8 symbols.
+ *
+ * <p>
+ * Each decision first spends up to a quarter of the time limit trying to list every consistent
+ * code. When there are too many, it draws random consistent codes with a
+ * {@link ConsistentCodeSampler}, one independent sampling task per core of the common
+ * fork/join pool, until half the time limit has passed.
+ * The distinct codes drawn stand in for the candidate set: every one of them, plus a few
+ * random codes, is tried as a guess, and the guess that splits the sample best (see
+ * {@link SampleScorer}) is played, preferring consistent guesses. Guesses are also scored in
+ * parallel, and the best found so far is played when the time limit passes. If no consistent
+ * code turns up in time, the search continues without a budget until it finds one, so a
+ * decision can overrun the limit on rare, heavily constrained positions.
+ * </p>
+ *
+ * <p>
+ * The solver only keeps the history, so updates are constant-time. {@link #getRemaining()}
+ * is exact when the last decision listed every consistent code, and a lower bound otherwise.
+ * </p>
+ */
+public class MonteCarloSolver implements Solver {
+    /** The default time limit per guess in milliseconds. */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 500L;
+
+    private static final int SAMPLE_SIZE = 1 << 11;
+    private static final int RANDOM_GUESSES = 64;
+    private static final long SAMPLE_NODES = 1L << 16;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final String validCharacters;
+    private final CodeSpace space;
+    private final long timeoutMillis;
+    private final SplittableRandom random;
+
+    private long[] historyGuesses = new long[8];
+    private int[] historyScores = new int[8];
+    private int historySize;
+    private long remaining;
+    private boolean remainingExact;
+
+    /**
+     * Constructs a {@code MonteCarloSolver} with the default time limit.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     */
+    public MonteCarloSolver(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        this(strategy, codeLength, validCharacters, DEFAULT_TIMEOUT_MILLIS, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a {@code MonteCarloSolver}.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param timeoutMillis   The time limit per guess in milliseconds.
+     * @param random          The source of randomness, split between sampling tasks.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public MonteCarloSolver(ScoreStrategy strategy, int codeLength, String validCharacters,
+                            long timeoutMillis, SplittableRandom random) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = validCharacters.length();
+        this.validCharacters = validCharacters;
+        this.space = new CodeSpace(codeLength, numVars);
+        this.timeoutMillis = timeoutMillis;
+        this.random = random;
+        this.remaining = space.size();
+        this.remainingExact = true;
+    }
+
+    @Override
+    public long nextGuess() {
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000;
+        ConsistentCodeSampler sampler = new ConsistentCodeSampler(strategy, codeLength, numVars,
+                historyGuesses, historyScores, historySize);
+
+        long[] sample = historySize == 0 ? null : sampler.enumerate(SAMPLE_SIZE, start + (deadline - start) / 4);
+        if (sample != null) {
+            remaining = sample.length;
+            remainingExact = true;
+        } else {
+            sample = drawSample(sampler, start + (deadline - start) / 2);
+            remaining = historySize == 0 ? space.size() : sample.length;
+            remainingExact = historySize == 0;
+        }
+        if (sample.length == 0) {
+            long code = sampler.sample(random, Long.MAX_VALUE);
+            if (code < 0) {
+                throw new IllegalStateException("No candidate code is consistent with the feedback.");
+            }
+            sample = new long[] { code };
+            remaining = 1;
+        }
+        if (sample.length == 1 && remainingExact) {
+            return sample[0];
+        }
+
+        long[] pool = Arrays.copyOf(sample, sample.length + RANDOM_GUESSES);
+        for (int i = sample.length; i < pool.length; i++) {
+            pool[i] = space.random(random);
+        }
+        return bestGuess(pool, sample.length, sample, deadline);
+    }
+
+    @Override
+    public void update(long guess, int score) {
+        if (historySize == historyGuesses.length) {
+            historyGuesses = Arrays.copyOf(historyGuesses, historySize * 2);
+            historyScores = Arrays.copyOf(historyScores, historySize * 2);
+        }
+        historyGuesses[historySize] = guess;
+        historyScores[historySize++] = score;
+    }
+
+    /**
+     * Gets the number of consistent codes found by the last decision: exact when they could
+     * all be listed, a lower bound otherwise.
+     */
+    @Override
+    public int getRemaining() {
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    /**
+     * Checks if {@link #getRemaining()} is exact.
+     *
+     * @return True if the last decision listed every consistent code.
+     */
+    public boolean isRemainingExact() {
+        return remainingExact;
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return validCharacters;
+    }
+
+    @Override
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Draws distinct consistent codes in parallel until the sample is full or the deadline passes.
+     */
+    private long[] drawSample(ConsistentCodeSampler sampler, long deadline) {
+        int tasks = ForkJoinPool.commonPool().getParallelism();
+        int quota = (SAMPLE_SIZE + tasks - 1) / tasks;
+        SplittableRandom[] randoms = new SplittableRandom[tasks];
+        for (int t = 0; t < tasks; t++) {
+            randoms[t] = random.split();
+        }
+
+        return IntStream.range(0, tasks).parallel()
+                .mapToObj(t -> {
+                    long[] drawn = new long[quota];
+                    int n = 0;
+                    while (n < quota && System.nanoTime() - deadline < 0) {
+                        long code = sampler.sample(randoms[t], SAMPLE_NODES);
+                        if (code >= 0) {
+                            drawn[n++] = code;
+                        }
+                    }
+                    return Arrays.copyOf(drawn, n);
+                })
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Scores every guess in the pool against the sample in parallel and returns the best one
+     * evaluated before the deadline. The first {@code consistent} guesses of the pool are
+     * consistent codes.
+     */
+    private long bestGuess(long[] pool, int consistent, long[] sample, long deadline) {
+        int tasks = ForkJoinPool.commonPool().getParallelism();
+        int chunk = (pool.length + tasks - 1) / tasks;
+        long[][] bests = IntStream.range(0, tasks).parallel()
+                .mapToObj(t -> {
+                    SampleScorer scorer = new SampleScorer(strategy, codeLength, numVars, sample, sample.length);
+                    long best = -1L;
+                    long bestKey = Long.MAX_VALUE;
+                    int end = Math.min(pool.length, (t + 1) * chunk);
+                    for (int i = t * chunk; i < end && (best < 0 || System.nanoTime() - deadline < 0); i++) {
+                        long key = scorer.sumOfSquares(pool[i]) * 2 + (i < consistent ? 0 : 1);
+                        if (key < bestKey) {
+                            best = pool[i];
+                            bestKey = key;
+                        }
+                    }
+                    return new long[] { bestKey, best };
+                })
+                .toArray(long[][]::new);
+
+        long[] best = bests[0];
+        for (long[] candidate : bests) {
+            if (candidate[1] >= 0 && (best[1] < 0 || candidate[0] < best[0])) {
+                best = candidate;
+            }
+        }
+        return best[1] >= 0 ? best[1] : sample[0];
+    }
+}
@@ -0,0 +1,227 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code OffHeapCandidateSet} class keeps one bit per code in a memory-mapped temporary
+ * file, for code spaces too large for the heap.
+ *
+ * <p>
+ * A bit is set when its code has been <em>eliminated</em>, so a new set is a sparse file of
+ * zeros that costs neither time nor disk until the first filter. The file is mapped in chunks
+ * (a single mapping is limited to 2 GiB) and deleted as soon as it is mapped; the pages live
+ * in the page cache, outside the Java heap, and are released when the set is collected.
+ * </p>
+ *
+ * <p>
+ * Filtering is split into fixed ranges of words that run as fork/join tasks on the common
+ * pool. Each task narrows its words with its own {@link WordFilter} and returns how many
+ * candidates it kept. Filtering the full space still scores every code once, so the first
+ * guess on a very large configuration takes time proportional to the space.
+ * </p>
+ */
+public final class OffHeapCandidateSet implements CandidateSet {
+    /** The largest code space an off-heap set can hold (a 128 GiB file). */
+    public static final long MAX_CODES = 1L << 40;
+
+    private static final int DEFAULT_CHUNK_BYTES = 1 << 27;
+    private static final int LEAF_WORDS = 1 << 12;
+
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final long spaceSize;
+    private final long wordCount;
+    private final int chunkShift;
+    private final MappedByteBuffer[] chunks;
+    private long cardinality;
+
+    /**
+     * Constructs an {@code OffHeapCandidateSet} holding the whole code space.
+     *
+     * @param strategy   The score strategy that produces the feedback.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     * @throws IllegalArgumentException if the code space is too large.
+     * @throws UncheckedIOException     if the temporary file cannot be created or mapped.
+     */
+    public OffHeapCandidateSet(ScoreStrategy strategy, int codeLength, int numVars) {
+        this(strategy, codeLength, numVars, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructs an {@code OffHeapCandidateSet} with a given mapping size.
+     *
+     * @param chunkBytes The size of each mapping, a power of two of at least 8 bytes.
+     */
+    OffHeapCandidateSet(ScoreStrategy strategy, int codeLength, int numVars, int chunkBytes) {
+        this.spaceSize = PackedCode.spaceSize(codeLength, numVars);
+        if (spaceSize > MAX_CODES) {
+            throw new IllegalArgumentException("Code space of " + spaceSize + " codes is too large for an off-heap set.");
+        }
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.wordCount = (spaceSize + Long.SIZE - 1) >>> 6;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkBytes / Long.BYTES);
+        this.chunks = map(wordCount * Long.BYTES, chunkBytes);
+        this.cardinality = spaceSize;
+    }
+
+    private OffHeapCandidateSet(OffHeapCandidateSet other) {
+        this.strategy = other.strategy;
+        this.codeLength = other.codeLength;
+        this.numVars = other.numVars;
+        this.spaceSize = other.spaceSize;
+        this.wordCount = other.wordCount;
+        this.chunkShift = other.chunkShift;
+        this.chunks = map(wordCount * Long.BYTES, other.chunks[0].capacity());
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c].put(0, other.chunks[c], 0, other.chunks[c].capacity());
+        }
+        this.cardinality = other.cardinality;
+    }
+
+    /**
+     * Maps a new zero-filled temporary file and deletes it, leaving only the mappings.
+     */
+    private static MappedByteBuffer[] map(long totalBytes, int chunkBytes) {
+        int count = (int) ((totalBytes + chunkBytes - 1) / chunkBytes);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+        try {
+            Path file = Files.createTempFile("mastermind-candidates", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE)) {
+                for (int c = 0; c < count; c++) {
+                    long position = (long) c * chunkBytes;
+                    chunks[c] = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                            Math.min(chunkBytes, totalBytes - position));
+                    chunks[c].order(ByteOrder.nativeOrder());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error mapping candidate set: " + e.getMessage(), e);
+        }
+        return chunks;
+    }
+
+    @Override
+    public long spaceSize() {
+        return spaceSize;
+    }
+
+    @Override
+    public long cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    public boolean contains(long index) {
+        return index >= 0 && index < spaceSize && (candidateWord(index >>> 6) & (1L << index)) != 0;
+    }
+
+    @Override
+    public long nextCandidate(long from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= spaceSize) {
+            return -1L;
+        }
+        long w = from >>> 6;
+        long word = candidateWord(w) & (-1L << from);
+        while (word == 0) {
+            if (++w == wordCount) {
+                return -1L;
+            }
+            word = candidateWord(w);
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public void retainMatching(long guess, int score) {
+        cardinality = new FilterTask(guess, score, 0L, wordCount).invoke();
+    }
+
+    @Override
+    public long memoryBytes() {
+        return wordCount * Long.BYTES;
+    }
+
+    @Override
+    public CandidateSet copy() {
+        return new OffHeapCandidateSet(this);
+    }
+
+    /**
+     * Reads a word as candidate bits, with bits past the end of the code space clear.
+     */
+    private long candidateWord(long w) {
+        long word = ~chunks[(int) (w >>> chunkShift)].getLong(offsetOf(w));
+        int tail = (int) (spaceSize & (Long.SIZE - 1));
+        return w == wordCount - 1 && tail != 0 ? word & ((1L << tail) - 1) : word;
+    }
+
+    private void storeCandidateWord(long w, long word) {
+        chunks[(int) (w >>> chunkShift)].putLong(offsetOf(w), ~word);
+    }
+
+    private int offsetOf(long w) {
+        return (int) (w & ((1L << chunkShift) - 1)) * Long.BYTES;
+    }
+
+    /**
+     * Narrows the words in {@code [from, to)} and counts the candidates kept.
+     */
+    private final class FilterTask extends RecursiveTask<Long> {
+        private final long guess;
+        private final int score;
+        private final long from;
+        private final long to;
+
+        FilterTask(long guess, int score, long from, long to) {
+            this.guess = guess;
+            this.score = score;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > LEAF_WORDS) {
+                long middle = (from + to) >>> 1;
+                FilterTask right = new FilterTask(guess, score, middle, to);
+                right.fork();
+                long left = new FilterTask(guess, score, from, middle).compute();
+                return left + right.join();
+            }
+
+            WordFilter filter = new WordFilter(strategy, codeLength, numVars, guess, score);
+            long kept = 0L;
+            for (long w = from; w < to; w++) {
+                long word = candidateWord(w);
+                if (word == 0) {
+                    continue;
+                }
+                long matching = filter.retain(w << 6, word);
+                if (matching != word) {
+                    storeCandidateWord(w, matching);
+                }
+                kept += Long.bitCount(matching);
+            }
+            return kept;
+        }
+    }
+}
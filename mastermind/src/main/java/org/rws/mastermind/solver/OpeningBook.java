@@ -0,0 +1,313 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.score.ScoreStrategy;
+import org.rws.mastermind.score.ScoreTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code OpeningBook} class holds a solver's first decisions for one configuration,
+ * precomputed for every feedback sequence.
+ *
+ * <p>
+ * Until the game leaves the book, a solver's decisions depend only on the feedback it has
+ * received, so the decision tree down to a fixed depth is computed once, in parallel, and
+ * stored in a small binary file next to the score tables (see {@link ScoreTable#directory()}).
+ * Each entry maps a feedback path to a packed guess. The path is a key holding a leading
+ * {@code 1} bit followed by one fixed-width field per packed score, so the opening is key
+ * {@code 1}. Entries are sorted by key and looked up by binary search.
+ * </p>
+ *
+ * <p>
+ * Packed guesses hold symbol indices, so a book is shared by every set of valid characters
+ * of the same size. Once loaded, a book is immutable and safe to read from any thread.
+ * </p>
+ */
+public final class OpeningBook {
+    /** The default number of decisions stored. */
+    public static final int DEFAULT_DEPTH = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningBook.class);
+    private static final Map<String, Optional<OpeningBook>> books = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x4D4D4F42;
+    private static final int HEADER_BYTES = 24;
+    private static final int ENTRY_BYTES = 16;
+    private static final long ROOT_KEY = 1L;
+
+    private final long[] keys;
+    private final long[] guesses;
+    private final int depth;
+    private final int scoreBits;
+
+    private OpeningBook(long[] keys, long[] guesses, int depth, int scoreBits) {
+        this.keys = keys;
+        this.guesses = guesses;
+        this.depth = depth;
+        this.scoreBits = scoreBits;
+    }
+
+    /**
+     * Gets the shared book for a configuration, building or loading it on first use.
+     *
+     * @param type            The solver type, as accepted by {@link SolverFactory}.
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param depth           The number of decisions to store.
+     * @return The opening book, or {@code null} if it could not be created.
+     */
+    public static OpeningBook forConfiguration(String type, ScoreStrategy strategy, int codeLength,
+                                               String validCharacters, int depth) {
+        int scoreBits = Integer.SIZE - Integer.numberOfLeadingZeros(strategy.outcomeBound(codeLength) - 1);
+        if (depth < 1 || 1 + depth * scoreBits >= Long.SIZE) {
+            return null;
+        }
+
+        String resolved = SolverFactory.resolveType(type);
+        String name = "book-" + resolved + "-" + strategy.getType() + "-" + codeLength + "x"
+                + validCharacters.length() + "-d" + depth;
+        return books.computeIfAbsent(ScoreTable.directory().resolve(name).toString(), k -> Optional.ofNullable(
+                        load(resolved, strategy, codeLength, validCharacters, depth, scoreBits, name)))
+                .orElse(null);
+    }
+
+    /**
+     * Gets the key of the opening decision.
+     *
+     * @return The key of the empty feedback path.
+     */
+    public long rootKey() {
+        return ROOT_KEY;
+    }
+
+    /**
+     * Extends a feedback path by one score.
+     *
+     * @param key   The key of the path so far, or {@code -1} if the game has left the book.
+     * @param score The packed score received.
+     * @return The key of the longer path, or {@code -1} if it is deeper than the book.
+     */
+    public long childKey(long key, int score) {
+        if (key < 0 || levelOf(key) >= depth - 1) {
+            return -1L;
+        }
+        return (key << scoreBits) | score;
+    }
+
+    /**
+     * Gets the stored decision for a feedback path.
+     *
+     * @param key The key of the feedback path.
+     * @return The packed guess, or {@code -1} if the path is not in the book.
+     */
+    public long guessFor(long key) {
+        if (key < 0) {
+            return -1L;
+        }
+        int i = Arrays.binarySearch(keys, key);
+        return i >= 0 ? guesses[i] : -1L;
+    }
+
+    /**
+     * Gets the number of decisions stored.
+     *
+     * @return The number of entries in the book.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the depth of the book.
+     *
+     * @return The number of decisions stored along each path.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    private int levelOf(long key) {
+        return (Long.SIZE - 1 - Long.numberOfLeadingZeros(key)) / scoreBits;
+    }
+
+    /**
+     * Reads an existing book file, or builds and publishes a new one.
+     */
+    private static OpeningBook load(String type, ScoreStrategy strategy, int codeLength, String validCharacters,
+                                    int depth, int scoreBits, String name) {
+        try {
+            Path dir = ScoreTable.prepareDirectory();
+            Path file = dir.resolve(name + ".bin");
+            OpeningBook book = read(file, codeLength, validCharacters.length(), depth, scoreBits);
+            if (book == null) {
+                book = build(type, strategy, codeLength, validCharacters, depth, scoreBits);
+                write(book, dir, file, codeLength, validCharacters.length());
+            }
+            logger.info("Loaded opening book " + file + " with " + book.size() + " entries");
+            return book;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Error creating opening book " + name + ": ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the decision tree, one fork/join task per node.
+     */
+    private static OpeningBook build(String type, ScoreStrategy strategy, int codeLength, String validCharacters,
+                                     int depth, int scoreBits) {
+        long start = System.nanoTime();
+        Map<Long, Long> entries = new ConcurrentSkipListMap<>();
+        BuildTask root = new BuildTask(type, strategy, codeLength, validCharacters, depth, scoreBits,
+                entries, new long[0], new int[0], ROOT_KEY);
+        ForkJoinPool.commonPool().invoke(root);
+
+        long[] keys = new long[entries.size()];
+        long[] guesses = new long[entries.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : entries.entrySet()) {
+            keys[i] = entry.getKey();
+            guesses[i] = entry.getValue();
+            i++;
+        }
+        logger.info("Built opening book with " + keys.length + " entries in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return new OpeningBook(keys, guesses, depth, scoreBits);
+    }
+
+    /**
+     * Writes a book to a temporary file and atomically moves it into place,
+     * so other JVMs never read a partial book.
+     */
+    private static void write(OpeningBook book, Path dir, Path file, int codeLength, int numVars) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + book.size() * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putInt(codeLength).putInt(numVars).putInt(book.depth)
+                .putInt(book.scoreBits).putInt(book.size());
+        for (int i = 0; i < book.size(); i++) {
+            buffer.putLong(book.keys[i]).putLong(book.guesses[i]);
+        }
+
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a book file if it exists and has the expected header and size.
+     */
+    private static OpeningBook read(Path file, int codeLength, int numVars, int depth, int scoreBits) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_BYTES
+                || buffer.getInt() != MAGIC
+                || buffer.getInt() != codeLength
+                || buffer.getInt() != numVars
+                || buffer.getInt() != depth
+                || buffer.getInt() != scoreBits) {
+            return null;
+        }
+        int size = buffer.getInt();
+        if (buffer.remaining() != (long) size * ENTRY_BYTES) {
+            return null;
+        }
+
+        long[] keys = new long[size];
+        long[] guesses = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = buffer.getLong();
+            guesses[i] = buffer.getLong();
+        }
+        return new OpeningBook(keys, guesses, depth, scoreBits);
+    }
+
+    /**
+     * Replays a feedback path on a fresh solver, stores its decision and forks one task
+     * per score that leaves more than one candidate.
+     */
+    private static final class BuildTask extends RecursiveAction {
+        private final String type;
+        private final ScoreStrategy strategy;
+        private final int codeLength;
+        private final String validCharacters;
+        private final int depth;
+        private final int scoreBits;
+        private final Map<Long, Long> entries;
+        private final long[] pathGuesses;
+        private final int[] pathScores;
+        private final long key;
+
+        BuildTask(String type, ScoreStrategy strategy, int codeLength, String validCharacters, int depth,
+                  int scoreBits, Map<Long, Long> entries, long[] pathGuesses, int[] pathScores, long key) {
+            this.type = type;
+            this.strategy = strategy;
+            this.codeLength = codeLength;
+            this.validCharacters = validCharacters;
+            this.depth = depth;
+            this.scoreBits = scoreBits;
+            this.entries = entries;
+            this.pathGuesses = pathGuesses;
+            this.pathScores = pathScores;
+            this.key = key;
+        }
+
+        @Override
+        protected void compute() {
+            Solver solver = SolverFactory.createSolver(type, strategy, codeLength, validCharacters);
+            if (!(solver instanceof AbstractSolver search)) {
+                throw new IllegalArgumentException("Solver type " + type + " cannot build an opening book.");
+            }
+            for (int i = 0; i < pathGuesses.length; i++) {
+                search.update(pathGuesses[i], pathScores[i]);
+            }
+
+            long guess = search.nextGuess();
+            entries.put(key, guess);
+            int level = pathGuesses.length;
+            if (level + 1 >= depth) {
+                return;
+            }
+
+            int[] sizes = new int[search.outcomeBound];
+            int numVars = validCharacters.length();
+            for (int i = 0; i < search.candidateCount; i++) {
+                sizes[strategy.score(guess, search.candidates[i], codeLength, numVars)]++;
+            }
+
+            List<BuildTask> children = new ArrayList<>();
+            for (int score = 0; score < sizes.length; score++) {
+                if (sizes[score] < 2) {
+                    continue;
+                }
+                long[] guesses = Arrays.copyOf(pathGuesses, level + 1);
+                int[] scores = Arrays.copyOf(pathScores, level + 1);
+                guesses[level] = guess;
+                scores[level] = score;
+                children.add(new BuildTask(type, strategy, codeLength, validCharacters, depth, scoreBits,
+                        entries, guesses, scores, (key << scoreBits) | score));
+            }
+            invokeAll(children);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.rws.mastermind.solver;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code ParallelGuessEvaluator} class evaluates every guess of a solver's code space
+ * on a {@link ForkJoinPool} and reduces to the best one.
+ *
+ * <p>
+ * The guess space is split by reading-order rank into ranges. Each leaf task owns its own
+ * histogram and score buffers, computes the {@link PartitionStats} of its guesses against
+ * the solver's remaining candidates, and keeps the best under the requested order; results
+ * are merged on the way back up. Ties keep the lower rank, so a complete evaluation gives
+ * the same answer as a sequential scan regardless of the number of threads.
+ * </p>
+ *
+ * <p>
+ * Guesses that are equivalent to an earlier one under the solver's remaining symmetries are
+ * skipped but still count as evaluated. Leaves stop early when the deadline passes or the
+ * evaluation is cancelled, and the evaluation then returns the best guess among those
+ * evaluated.
+ * </p>
+ *
+ * <p>
+ * Each evaluation has its own cancellation flag, so an evaluator can be shared by several
+ * solvers without one cancelling another. A caller that may need to cancel before the
+ * evaluation starts passes its own flag to
+ * {@link #evaluate(AbstractSolver, Comparator, long, AtomicBoolean)}.
+ * </p>
+ */
+public class ParallelGuessEvaluator {
+    private static final int LEAVES_PER_THREAD = 8;
+
+    private final ForkJoinPool pool;
+    private final Set<AtomicBoolean> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a {@code ParallelGuessEvaluator} that runs on the common pool.
+     */
+    public ParallelGuessEvaluator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code ParallelGuessEvaluator} that runs on the given pool.
+     *
+     * @param pool The pool whose parallelism sets the number of cores used.
+     */
+    public ParallelGuessEvaluator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Evaluates every guess of the solver's code space against its remaining candidates.
+     * The solver must not be updated while the evaluation runs.
+     *
+     * @param solver        The solver providing the code space and candidates.
+     * @param order         The order in which guesses are preferred, best first.
+     * @param timeoutMillis The time limit in milliseconds, or {@code 0} for none.
+     * @return The best guess found and how much of the space was evaluated.
+     */
+    public GuessEvaluation evaluate(AbstractSolver solver, Comparator<PartitionStats> order, long timeoutMillis) {
+        return evaluate(solver, order, timeoutMillis, new AtomicBoolean());
+    }
+
+    /**
+     * Evaluates every guess of the solver's code space against its remaining candidates,
+     * stopping early once a cancellation flag is set. A flag set before the call returns an
+     * evaluation of no guesses.
+     *
+     * @param solver        The solver providing the code space and candidates.
+     * @param order         The order in which guesses are preferred, best first.
+     * @param timeoutMillis The time limit in milliseconds, or {@code 0} for none.
+     * @param cancelled     The flag that cancels this evaluation when set.
+     * @return The best guess found and how much of the space was evaluated.
+     */
+    public GuessEvaluation evaluate(AbstractSolver solver, Comparator<PartitionStats> order, long timeoutMillis,
+                                    AtomicBoolean cancelled) {
+        running.add(cancelled);
+        try {
+            solver.refreshSymmetry();
+            long deadline = timeoutMillis > 0 ? System.nanoTime() + timeoutMillis * 1_000_000 : 0L;
+            int leafSize = Math.max(1, solver.codeCount / (pool.getParallelism() * LEAVES_PER_THREAD));
+
+            GuessEvaluation result = pool.invoke(
+                    new EvaluateTask(solver, order, deadline, cancelled, leafSize, 0, solver.codeCount));
+            return new GuessEvaluation(result.getBest(), result.getEvaluated(), solver.codeCount);
+        } finally {
+            running.remove(cancelled);
+        }
+    }
+
+    /**
+     * Stops the evaluations in progress. Each returns the best guess it has found so far;
+     * evaluations started later are not affected.
+     */
+    public void cancel() {
+        for (AtomicBoolean cancelled : running) {
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * Evaluates the guesses with ranks in {@code [from, to)}.
+     */
+    private final class EvaluateTask extends RecursiveTask<GuessEvaluation> {
+        private final AbstractSolver solver;
+        private final Comparator<PartitionStats> order;
+        private final long deadline;
+        private final AtomicBoolean cancelled;
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(AbstractSolver solver, Comparator<PartitionStats> order, long deadline,
+                     AtomicBoolean cancelled, int leafSize, int from, int to) {
+            this.solver = solver;
+            this.order = order;
+            this.deadline = deadline;
+            this.cancelled = cancelled;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GuessEvaluation compute() {
+            if (to - from > leafSize) {
+                int middle = (from + to) >>> 1;
+                EvaluateTask right = new EvaluateTask(solver, order, deadline, cancelled, leafSize, middle, to);
+                right.fork();
+                GuessEvaluation left = new EvaluateTask(solver, order, deadline, cancelled, leafSize, from, middle).compute();
+                return merge(left, right.join());
+            }
+
+            int[] histogram = new int[solver.outcomeBound];
+            short[] scores = new short[solver.candidateCount];
+            PartitionStats best = null;
+            int evaluated = 0;
+            for (int rank = from; rank < to && !isStopped(); rank++, evaluated++) {
+                if (!solver.isCanonicalGuess(solver.readingOrderIndex(rank))) {
+                    continue;
+                }
+                PartitionStats stats = solver.partitionStats(rank, histogram, scores);
+                if (best == null || order.compare(stats, best) < 0) {
+                    best = stats;
+                }
+            }
+            return new GuessEvaluation(best, evaluated, to - from);
+        }
+
+        private boolean isStopped() {
+            return cancelled.get() || (deadline != 0L && System.nanoTime() - deadline > 0);
+        }
+
+        private GuessEvaluation merge(GuessEvaluation left, GuessEvaluation right) {
+            PartitionStats best = left.getBest();
+            if (best == null || (right.getBest() != null && order.compare(right.getBest(), best) < 0)) {
+                best = right.getBest();
+            }
+            return new GuessEvaluation(best, left.getEvaluated() + right.getEvaluated(),
+                    left.getTotal() + right.getTotal());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code PartitionSolver} class chooses each guess by how it partitions the remaining
+ * candidates, under a pluggable objective.
+ *
+ * <p>
+ * The objective is an order over {@link PartitionStats}, best first, such as
+ * {@link PartitionStats#BY_ENTROPY}. Every objective shares the same partition computation,
+ * so adding one only takes a new comparator and a name in {@link SolverFactory}.
+ * </p>
+ *
+ * <p>
+ * The opening guess depends only on the configuration and objective, so it is computed once
+ * per JVM and shared by all solvers with the same objective, strategy type, code length and
+ * valid characters. Given a {@link ParallelGuessEvaluator}, the search is spread over a
+ * fork/join pool and bounded by a time limit per turn; when the limit cuts it short, the best
+ * guess evaluated so far is played and the opening is not cached.
+ * </p>
+ *
+ * <p>
+ * Later decisions are shared the same way through a {@link TranspositionTable}: a completed
+ * search stores its best guess under a fingerprint of the candidate set, and any solver of the
+ * same configuration that reaches that set again, by whatever history, plays it directly.
+ * </p>
+ */
+public class PartitionSolver extends AbstractSolver {
+    private static final Map<String, Long> openings = new ConcurrentHashMap<>();
+
+    private final String objectiveName;
+    private final Comparator<PartitionStats> objective;
+    private final ParallelGuessEvaluator evaluator;
+    private final long timeoutMillis;
+    private final TranspositionTable transpositions;
+    private GuessEvaluation lastEvaluation;
+
+    protected final int[] histogram;
+    protected final short[] scores;
+
+    /**
+     * Constructs a {@code PartitionSolver}.
+     *
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param objectiveName   The name of the objective, used to share opening guesses.
+     * @param objective       The order in which guesses are preferred, best first.
+     * @param evaluator       The parallel evaluator, or {@code null} to search sequentially.
+     * @param timeoutMillis   The time limit per guess in milliseconds, or {@code 0} for none.
+     * @throws IllegalArgumentException if the configuration is too large to search.
+     */
+    public PartitionSolver(ScoreStrategy strategy, int codeLength, String validCharacters,
+                           String objectiveName, Comparator<PartitionStats> objective,
+                           ParallelGuessEvaluator evaluator, long timeoutMillis) {
+        super(strategy, codeLength, validCharacters);
+        this.objectiveName = objectiveName;
+        this.objective = objective;
+        this.evaluator = evaluator;
+        this.timeoutMillis = timeoutMillis;
+        this.transpositions = TranspositionTable.forConfiguration(configurationKey());
+        this.histogram = new int[outcomeBound];
+        this.scores = new short[codeCount];
+    }
+
+    /**
+     * Chooses the guess that ranks first under the objective.
+     */
+    @Override
+    public long nextGuess() {
+        long single = singleCandidate();
+        if (single >= 0) {
+            return single;
+        }
+
+        boolean opening = candidateCount == codeCount;
+        String key = configurationKey();
+        if (opening) {
+            Long cached = openings.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TranspositionTable.Key state = null;
+        if (!opening && transpositions != null) {
+            state = new TranspositionTable.Key(candidateIndices, candidateCount);
+            PartitionStats cached = transpositions.get(state);
+            if (cached != null) {
+                return codes[cached.getGuessIndex()];
+            }
+        }
+
+        refreshSymmetry();
+        boolean complete = true;
+        PartitionStats best;
+        if (evaluator != null) {
+            lastEvaluation = evaluator.evaluate(this, objective, timeoutMillis);
+            best = lastEvaluation.getBest();
+            complete = lastEvaluation.isComplete();
+            if (best == null) {
+                return candidates[0];
+            }
+        } else {
+            best = search();
+        }
+
+        long guess = codes[best.getGuessIndex()];
+        if (complete) {
+            if (opening) {
+                openings.putIfAbsent(key, guess);
+            } else if (state != null) {
+                transpositions.put(state, best);
+            }
+        }
+        return guess;
+    }
+
+    private String configurationKey() {
+        return objectiveName + ":" + strategy.getType() + ":" + codeLength + ":" + validCharacters;
+    }
+
+    /**
+     * Gets the outcome of the last parallel search.
+     *
+     * @return The last evaluation, or {@code null} if the solver searches sequentially.
+     */
+    public GuessEvaluation getLastEvaluation() {
+        return lastEvaluation;
+    }
+
+    /**
+     * Searches every code sequentially for the best guess under the objective.
+     *
+     * @return The statistics of the best guess.
+     */
+    protected PartitionStats search() {
+        PartitionStats best = null;
+        for (int rank = 0; rank < codeCount; rank++) {
+            if (!isCanonicalGuess(readingOrderIndex(rank))) {
+                continue;
+            }
+            PartitionStats stats = partitionStats(rank, histogram, scores);
+            if (best == null || objective.compare(stats, best) < 0) {
+                best = stats;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,149 @@
+package org.rws.mastermind.solver;
+
+import java.util.Comparator;
+
+/**
+ * The {@code PartitionStats} class summarises how one guess splits the remaining candidates.
+ *
+ * <p>
+ * Candidates that would give the same score form a partition. The statistics are the number
+ * of partitions, the largest partition (Knuth's worst case), the expected size of the
+ * partition the secret code falls into, and the entropy of the split in bits.
+ * </p>
+ */
+public final class PartitionStats {
+    /**
+     * Orders guesses by their largest partition, then by preferring consistent guesses,
+     * then by reading order.
+     */
+    public static final Comparator<PartitionStats> BY_WORST_CASE = Comparator
+            .comparingInt(PartitionStats::getWorstCase)
+            .thenComparing(PartitionStats::isCandidate, Comparator.reverseOrder())
+            .thenComparingInt(PartitionStats::getRank);
+
+    /**
+     * Orders guesses by the most expected information, then by preferring consistent guesses,
+     * then by reading order.
+     */
+    public static final Comparator<PartitionStats> BY_ENTROPY = Comparator
+            .comparingDouble(PartitionStats::getEntropy).reversed()
+            .thenComparing(PartitionStats::isCandidate, Comparator.reverseOrder())
+            .thenComparingInt(PartitionStats::getRank);
+
+    /**
+     * Orders guesses by the most partitions, then by preferring consistent guesses,
+     * then by reading order.
+     */
+    public static final Comparator<PartitionStats> BY_PARTS = Comparator
+            .comparingInt(PartitionStats::getParts).reversed()
+            .thenComparing(PartitionStats::isCandidate, Comparator.reverseOrder())
+            .thenComparingInt(PartitionStats::getRank);
+
+    /**
+     * Orders guesses by the smallest expected number of remaining candidates, then by
+     * preferring consistent guesses, then by reading order.
+     */
+    public static final Comparator<PartitionStats> BY_EXPECTED_SIZE = Comparator
+            .comparingDouble(PartitionStats::getExpectedSize)
+            .thenComparing(PartitionStats::isCandidate, Comparator.reverseOrder())
+            .thenComparingInt(PartitionStats::getRank);
+
+    private final int guessIndex;
+    private final int rank;
+    private final boolean candidate;
+    private final int parts;
+    private final int worstCase;
+    private final double expectedSize;
+    private final double entropy;
+
+    /**
+     * Constructs a {@code PartitionStats}.
+     *
+     * @param guessIndex   The mixed-radix index of the guess.
+     * @param rank         The position of the guess in reading order.
+     * @param candidate    True if the guess is consistent with the history.
+     * @param parts        The number of non-empty partitions.
+     * @param worstCase    The size of the largest partition.
+     * @param expectedSize The expected size of the partition containing the secret code.
+     * @param entropy      The entropy of the partition sizes, in bits.
+     */
+    public PartitionStats(int guessIndex, int rank, boolean candidate, int parts, int worstCase,
+                          double expectedSize, double entropy) {
+        this.guessIndex = guessIndex;
+        this.rank = rank;
+        this.candidate = candidate;
+        this.parts = parts;
+        this.worstCase = worstCase;
+        this.expectedSize = expectedSize;
+        this.entropy = entropy;
+    }
+
+    /**
+     * Gets the mixed-radix index of the guess.
+     *
+     * @return The guess index.
+     */
+    public int getGuessIndex() {
+        return guessIndex;
+    }
+
+    /**
+     * Gets the position of the guess in reading order, used to break ties.
+     *
+     * @return The rank of the guess.
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Checks if the guess could itself be the secret code.
+     *
+     * @return True if the guess is a remaining candidate.
+     */
+    public boolean isCandidate() {
+        return candidate;
+    }
+
+    /**
+     * Gets the number of non-empty partitions.
+     *
+     * @return The number of partitions.
+     */
+    public int getParts() {
+        return parts;
+    }
+
+    /**
+     * Gets the size of the largest partition.
+     *
+     * @return The worst-case number of remaining candidates.
+     */
+    public int getWorstCase() {
+        return worstCase;
+    }
+
+    /**
+     * Gets the expected number of remaining candidates, assuming each is equally likely.
+     *
+     * @return The sum of squared partition sizes over the number of candidates.
+     */
+    public double getExpectedSize() {
+        return expectedSize;
+    }
+
+    /**
+     * Gets the information the guess is expected to reveal.
+     *
+     * @return The entropy of the partition sizes, in bits.
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionStats{guess=" + guessIndex + ", parts=" + parts + ", worstCase=" + worstCase
+                + ", expectedSize=" + expectedSize + ", entropy=" + entropy + "}";
+    }
+}
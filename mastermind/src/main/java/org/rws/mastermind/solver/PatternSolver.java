@@ -0,0 +1,97 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.PatternStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PatternSolver} class plays pattern feedback (see {@link PatternStrategy}) by
+ * eliminating symbols position by position.
+ *
+ * <p>
+ * Pattern hints only tell whether each position is correct, so the game is
+ * {@code codeLength} independent searches. The solver keeps a bitmask of the symbols still
+ * possible at each position and guesses the lowest of them; a miss removes that symbol and a
+ * hit leaves only it. A position is known once a single symbol is left, so any code is
+ * solved in at most {@code numVars} guesses, the best possible with one bit per position per
+ * guess. Each decision and update takes {@code O(codeLength)} time.
+ * </p>
+ */
+public class PatternSolver implements Solver {
+    private final int codeLength;
+    private final String validCharacters;
+    private final int[] possible;
+
+    /**
+     * Constructs a {@code PatternSolver} for which every symbol is possible at every position.
+     *
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @throws IllegalArgumentException if the configuration cannot be packed.
+     */
+    public PatternSolver(int codeLength, String validCharacters) {
+        if (codeLength < 1 || codeLength > PackedCode.MAX_LENGTH
+                || validCharacters.isEmpty() || validCharacters.length() > PackedCode.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Unsupported configuration: length " + codeLength
+                    + " over " + validCharacters.length() + " symbols.");
+        }
+        this.codeLength = codeLength;
+        this.validCharacters = validCharacters;
+        this.possible = new int[codeLength];
+        Arrays.fill(possible, (1 << validCharacters.length()) - 1);
+    }
+
+    @Override
+    public long nextGuess() {
+        long guess = 0L;
+        for (int i = 0; i < codeLength; i++) {
+            if (possible[i] == 0) {
+                throw new IllegalStateException("No code is consistent with the feedback given.");
+            }
+            guess |= (long) Integer.numberOfTrailingZeros(possible[i]) << (i * PackedCode.BITS_PER_POSITION);
+        }
+        return guess;
+    }
+
+    /**
+     * Keeps only the guessed symbol at correct positions and removes it elsewhere.
+     */
+    @Override
+    public void update(long guess, int score) {
+        for (int i = 0; i < codeLength; i++) {
+            int symbol = 1 << PackedCode.symbolAt(guess, i);
+            if ((score & (1 << i)) != 0) {
+                possible[i] &= symbol;
+            } else {
+                possible[i] &= ~symbol;
+            }
+        }
+    }
+
+    /**
+     * Gets the product of the number of symbols possible at each position,
+     * saturated at {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public int getRemaining() {
+        long remaining = 1L;
+        for (int i = 0; i < codeLength; i++) {
+            remaining *= Integer.bitCount(possible[i]);
+            if (remaining > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        return (int) remaining;
+    }
+
+    @Override
+    public String getValidCharacters() {
+        return validCharacters;
+    }
+
+    @Override
+    public int getCodeLength() {
+        return codeLength;
+    }
+}
@@ -0,0 +1,77 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SampleScorer} class measures how well a guess splits a sample of candidates.
+ *
+ * <p>
+ * The measure is the sum of squared partition sizes, which is the sample size times the
+ * expected number of candidates left after the guess; smaller is better. Partitions are
+ * counted in a histogram indexed by packed score when the strategy's scores fit the batch
+ * path, and by sorting the scores otherwise. Each instance owns its buffers and is used by
+ * one thread.
+ * </p>
+ */
+final class SampleScorer {
+    private final ScoreStrategy strategy;
+    private final int codeLength;
+    private final int numVars;
+    private final long[] sample;
+    private final int sampleSize;
+    private final short[] batchScores;
+    private final int[] histogram;
+    private final int[] scores;
+
+    SampleScorer(ScoreStrategy strategy, int codeLength, int numVars, long[] sample, int sampleSize) {
+        this.strategy = strategy;
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.sample = sample;
+        this.sampleSize = sampleSize;
+        int bound = strategy.outcomeBound(codeLength);
+        boolean batch = bound <= 1 << Short.SIZE;
+        this.batchScores = batch ? new short[sampleSize] : null;
+        this.histogram = batch ? new int[bound] : null;
+        this.scores = batch ? null : new int[sampleSize];
+    }
+
+    /**
+     * Scores a guess against the sample.
+     *
+     * @param guess The packed guess.
+     * @return The sum of squared partition sizes.
+     */
+    long sumOfSquares(long guess) {
+        return histogram != null ? sumByHistogram(guess) : sumBySorting(guess);
+    }
+
+    private long sumByHistogram(long guess) {
+        strategy.scoreBatch(guess, sample, 0, sampleSize, batchScores, codeLength, numVars);
+        long sum = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            int count = histogram[batchScores[i] & 0xFFFF]++;
+            sum += 2L * count + 1;
+        }
+        for (int i = 0; i < sampleSize; i++) {
+            histogram[batchScores[i] & 0xFFFF] = 0;
+        }
+        return sum;
+    }
+
+    private long sumBySorting(long guess) {
+        for (int i = 0; i < sampleSize; i++) {
+            scores[i] = strategy.score(guess, sample[i], codeLength, numVars);
+        }
+        Arrays.sort(scores, 0, sampleSize);
+        long sum = 0;
+        int run = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            run = i > 0 && scores[i] == scores[i - 1] ? run + 1 : 1;
+            sum += 2L * run - 1;
+        }
+        return sum;
+    }
+}
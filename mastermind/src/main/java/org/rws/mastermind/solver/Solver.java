@@ -0,0 +1,73 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreResult;
+
+/**
+ * The {@code Solver} interface defines a code breaker that plays one game.
+ *
+ * <p>
+ * A solver is stateful: it keeps the set of candidate codes that are consistent with every
+ * guess and feedback it has been told about, and proposes the next guess from that set.
+ * Guesses and scores use the packed forms from {@link PackedCode} and
+ * {@link org.rws.mastermind.score.ScoreStrategy}.
+ * </p>
+ */
+public interface Solver {
+
+    /**
+     * Chooses the next guess.
+     *
+     * @return The packed guess.
+     * @throws IllegalStateException if no candidate code is consistent with the history.
+     */
+    long nextGuess();
+
+    /**
+     * Records the feedback for a guess and removes the candidates it rules out.
+     *
+     * @param guess The packed guess.
+     * @param score The packed score the guess received.
+     */
+    void update(long guess, int score);
+
+    /**
+     * Gets the number of candidate codes still consistent with the history.
+     *
+     * @return The number of remaining candidates.
+     */
+    int getRemaining();
+
+    /**
+     * Gets the valid characters the solver packs codes with.
+     *
+     * @return The valid characters.
+     */
+    String getValidCharacters();
+
+    /**
+     * Gets the length of the code.
+     *
+     * @return The length of the code.
+     */
+    int getCodeLength();
+
+    /**
+     * Chooses the next guess as a string.
+     *
+     * @return The next guess.
+     */
+    default String suggest() {
+        return PackedCode.unpack(nextGuess(), getCodeLength(), getValidCharacters());
+    }
+
+    /**
+     * Records the feedback for a guess made with strings, as returned by the game.
+     *
+     * @param guess  The guess.
+     * @param result The scored feedback for the guess.
+     */
+    default void update(String guess, ScoreResult result) {
+        update(PackedCode.pack(guess, getValidCharacters()), result.getValue());
+    }
+}
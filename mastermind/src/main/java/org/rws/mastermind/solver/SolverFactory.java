@@ -0,0 +1,89 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.score.ScoreStrategy;
+
+/**
+ * Factory class for creating {@link Solver} objects based on the objective name.
+ */
+public class SolverFactory {
+
+    /**
+     * Creates a {@link Solver} instance.
+     *
+     * @param type            The objective, which determines the implementation:
+     *                        <ul>
+     *                            <li>{@code "entropy"}: maximise the expected information</li>
+     *                            <li>{@code "parts"}: maximise the number of partitions</li>
+     *                            <li>{@code "expected"}: minimise the expected remaining candidates</li>
+     *                            <li>{@code "anytime"}: {@link AnytimeSolver}, for any code length</li>
+     *                            <li>{@code "montecarlo"}: {@link MonteCarloSolver}, for long codes</li>
+     *                            <li>{@code "positional"}: {@link HighLowSolver} or {@link PatternSolver},
+     *                                for high/low and pattern feedback</li>
+     *                            <li>Default: {@link MinimaxSolver}</li>
+     *                        </ul>
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @return A {@link Solver} implementation based on the specified type.
+     * @throws IllegalArgumentException if a positional solver is requested for standard feedback.
+     */
+    public static Solver createSolver(String type, ScoreStrategy strategy, int codeLength, String validCharacters) {
+        return switch (type) {
+            case "entropy" -> new PartitionSolver(strategy, codeLength, validCharacters,
+                    type, PartitionStats.BY_ENTROPY, null, 0L);
+            case "parts" -> new PartitionSolver(strategy, codeLength, validCharacters,
+                    type, PartitionStats.BY_PARTS, null, 0L);
+            case "expected" -> new PartitionSolver(strategy, codeLength, validCharacters,
+                    type, PartitionStats.BY_EXPECTED_SIZE, null, 0L);
+            case "anytime" -> new AnytimeSolver(strategy, codeLength, validCharacters);
+            case "montecarlo" -> new MonteCarloSolver(strategy, codeLength, validCharacters);
+            case "positional" -> createPositionalSolver(strategy, codeLength, validCharacters);
+            default -> new MinimaxSolver(strategy, codeLength, validCharacters);
+        };
+    }
+
+    /**
+     * Resolves a solver type to the name of the implementation {@link #createSolver} picks for it,
+     * so that unknown types, which fall back to minimax, share the minimax files.
+     *
+     * @param type The objective, as for {@link #createSolver}.
+     * @return The type itself if it is known, otherwise {@code "minimax"}.
+     */
+    static String resolveType(String type) {
+        return switch (type) {
+            case "entropy", "parts", "expected", "anytime", "montecarlo", "positional" -> type;
+            default -> "minimax";
+        };
+    }
+
+    /**
+     * Creates the solver that searches each position on its own, which is only possible when
+     * every position gets its own hint.
+     */
+    private static Solver createPositionalSolver(ScoreStrategy strategy, int codeLength, String validCharacters) {
+        return switch (strategy.getType()) {
+            case "hl" -> new HighLowSolver(codeLength, validCharacters);
+            case "pattern" -> new PatternSolver(codeLength, validCharacters);
+            default -> throw new IllegalArgumentException("No positional solver for "
+                    + strategy.getType() + " feedback.");
+        };
+    }
+
+    /**
+     * Creates a {@link Solver} that plays its first decisions from an {@link OpeningBook}.
+     * The book is built on first use and then loaded from disk.
+     *
+     * @param type            The objective, as for {@link #createSolver}.
+     * @param strategy        The score strategy that produces the feedback.
+     * @param codeLength      The length of the code.
+     * @param validCharacters The valid characters for the code.
+     * @param depth           The number of decisions to play from the book.
+     * @return A book-backed solver, or a plain solver if the book could not be created.
+     */
+    public static Solver createBookSolver(String type, ScoreStrategy strategy, int codeLength,
+                                          String validCharacters, int depth) {
+        Solver solver = createSolver(type, strategy, codeLength, validCharacters);
+        OpeningBook book = OpeningBook.forConfiguration(type, strategy, codeLength, validCharacters, depth);
+        return book == null ? solver : new BookSolver(book, solver);
+    }
+}
@@ -0,0 +1,201 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SymmetryReducer} class tracks the symmetries of a game that survive its history,
+ * so a solver only has to evaluate one guess per class of equivalent guesses.
+ *
+ * <p>
+ * Two kinds of symmetry are tracked:
+ * <ul>
+ *   <li><b>Free symbols</b>: symbols that appear in no guess so far can be relabelled among
+ *       themselves, when the strategy's scores do not depend on symbol identity.</li>
+ *   <li><b>Position classes</b>: positions that held the same symbol in every guess so far
+ *       can be permuted among themselves, when the strategy's scores do not depend on
+ *       positions.</li>
+ * </ul>
+ * Both permutations fix every past guess, so they map the candidate set onto itself, and
+ * equivalent guesses produce partitions of the same sizes. Within each class only the guess
+ * that comes first in reading order is kept; since solvers also break ties by reading order,
+ * the reduced search picks exactly the guess the full search would.
+ * </p>
+ *
+ * <p>
+ * The group shrinks as guesses are recorded and soon becomes trivial, after which every
+ * guess is canonical and the check costs nothing.
+ * </p>
+ */
+public final class SymmetryReducer {
+    private final int codeLength;
+    private final int numVars;
+    private final boolean symbolSymmetric;
+    private final boolean positionSymmetric;
+
+    private int freeSymbols;
+    private final int[] classOf;
+    private int classCount;
+
+    /**
+     * Constructs a {@code SymmetryReducer} for a game with no guesses yet.
+     *
+     * @param strategy   The score strategy, which determines the symmetries that apply.
+     * @param codeLength The length of the code.
+     * @param numVars    The number of valid characters.
+     */
+    public SymmetryReducer(ScoreStrategy strategy, int codeLength, int numVars) {
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.symbolSymmetric = strategy.isSymbolSymmetric();
+        this.positionSymmetric = strategy.isPositionSymmetric();
+        this.freeSymbols = symbolSymmetric ? (1 << numVars) - 1 : 0;
+        this.classOf = new int[codeLength];
+        if (positionSymmetric) {
+            this.classCount = 1;
+        } else {
+            for (int i = 0; i < codeLength; i++) {
+                classOf[i] = i;
+            }
+            this.classCount = codeLength;
+        }
+    }
+
+    /**
+     * Narrows the symmetries to those that fix a guess.
+     *
+     * @param guess The packed guess.
+     */
+    public void record(long guess) {
+        for (int i = 0; i < codeLength; i++) {
+            freeSymbols &= ~(1 << PackedCode.symbolAt(guess, i));
+        }
+
+        // Split each class by the symbol the guess holds at its positions.
+        int[] renumber = new int[classCount * numVars];
+        Arrays.fill(renumber, -1);
+        int classes = 0;
+        for (int i = 0; i < codeLength; i++) {
+            int key = classOf[i] * numVars + PackedCode.symbolAt(guess, i);
+            if (renumber[key] < 0) {
+                renumber[key] = classes++;
+            }
+            classOf[i] = renumber[key];
+        }
+        classCount = classes;
+    }
+
+    /**
+     * Checks if every guess is in a class of its own.
+     *
+     * @return True if no symmetry is left.
+     */
+    public boolean isTrivial() {
+        return Integer.bitCount(freeSymbols) < 2 && classCount == codeLength;
+    }
+
+    /**
+     * Checks if a guess comes first in reading order among its equivalent guesses.
+     *
+     * @param guess The packed guess.
+     * @return True if the guess should be evaluated.
+     */
+    public boolean isCanonical(long guess) {
+        if (isTrivial()) {
+            return true;
+        }
+
+        int[] remaining = new int[classCount * numVars];
+        for (int i = 0; i < codeLength; i++) {
+            remaining[classOf[i] * numVars + PackedCode.symbolAt(guess, i)]++;
+        }
+        int[] labels = new int[numVars];
+        Arrays.fill(labels, -1);
+        return !hasSmaller(guess, 0, remaining, labels, 0);
+    }
+
+    /**
+     * Searches for an equivalent guess that is smaller than {@code guess} in reading order,
+     * given that positions before {@code position} already match it.
+     *
+     * @param guess     The packed guess.
+     * @param position  The next position to fill.
+     * @param remaining The symbols still to place, counted per position class.
+     * @param labels    The label given to each free symbol placed so far, or {@code -1}.
+     * @param assigned  The number of free labels handed out so far.
+     * @return True if a smaller equivalent guess exists.
+     */
+    private boolean hasSmaller(long guess, int position, int[] remaining, int[] labels, int assigned) {
+        if (position == codeLength) {
+            return false;
+        }
+
+        int target = PackedCode.symbolAt(guess, position);
+        int base = classOf[position] * numVars;
+        int nextFreeLabel = nthFreeSymbol(assigned);
+
+        for (int v = 0; v < numVars; v++) {
+            if (remaining[base + v] == 0) {
+                continue;
+            }
+
+            boolean free = (freeSymbols >>> v & 1) != 0;
+            boolean unassigned = free && labels[v] < 0;
+            int label = !free ? v : unassigned ? nextFreeLabel : labels[v];
+            if (label < target) {
+                return true;
+            }
+            if (label > target || (unassigned && !hasDistinctProfile(v, remaining, labels))) {
+                continue;
+            }
+
+            remaining[base + v]--;
+            if (unassigned) {
+                labels[v] = label;
+            }
+            boolean smaller = hasSmaller(guess, position + 1, remaining, labels, unassigned ? assigned + 1 : assigned);
+            if (unassigned) {
+                labels[v] = -1;
+            }
+            remaining[base + v]++;
+            if (smaller) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if an unassigned free symbol differs, in its remaining counts per class, from
+     * every unassigned free symbol before it. Symbols with the same counts are interchangeable,
+     * so only the first of them needs to be tried.
+     */
+    private boolean hasDistinctProfile(int symbol, int[] remaining, int[] labels) {
+        for (int other = 0; other < symbol; other++) {
+            if ((freeSymbols >>> other & 1) == 0 || labels[other] >= 0) {
+                continue;
+            }
+            boolean same = true;
+            for (int c = 0; c < classCount && same; c++) {
+                same = remaining[c * numVars + symbol] == remaining[c * numVars + other];
+            }
+            if (same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the free symbol with a rank among the free symbols, counting from the smallest.
+     */
+    private int nthFreeSymbol(int n) {
+        int symbols = freeSymbols;
+        for (int i = 0; i < n && symbols != 0; i++) {
+            symbols &= symbols - 1;
+        }
+        return symbols == 0 ? numVars : Integer.numberOfTrailingZeros(symbols);
+    }
+}
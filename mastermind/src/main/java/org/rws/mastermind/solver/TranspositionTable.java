@@ -0,0 +1,196 @@
+package org.rws.mastermind.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code TranspositionTable} class remembers the best guess for candidate sets that
+ * solvers have already searched.
+ *
+ * <p>
+ * Different histories often leave the same candidate set, and the best guess depends only on
+ * that set (see {@link SymmetryReducer} for why symmetry reduction does not change it). A
+ * state is keyed by a 128-bit fingerprint of the sorted candidate indices plus their count,
+ * and maps to the {@link PartitionStats} of the chosen guess. One table is shared by every
+ * solver with the same objective and configuration, so concurrent bot sessions reuse each
+ * other's work.
+ * </p>
+ *
+ * <p>
+ * The table is bounded: it is split into lock-striped segments, each an access-ordered map
+ * that evicts its least recently used entry when full. The total size can be set with the
+ * {@code mastermind.transposition.maxEntries} system property; {@code 0} disables caching.
+ * </p>
+ */
+public final class TranspositionTable {
+    /** The default maximum number of states remembered per configuration. */
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+
+    private static final int SEGMENTS = 16;
+    private static final Map<String, TranspositionTable> tables = new ConcurrentHashMap<>();
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    TranspositionTable(int maxEntries) {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Gets the shared table for a solver configuration, creating it on first use.
+     *
+     * @param name The objective, strategy type, code length and valid characters.
+     * @return The table, or {@code null} if caching is disabled.
+     */
+    public static TranspositionTable forConfiguration(String name) {
+        int maxEntries = Integer.getInteger("mastermind.transposition.maxEntries", DEFAULT_MAX_ENTRIES);
+        if (maxEntries <= 0) {
+            return null;
+        }
+        return tables.computeIfAbsent(name, k -> new TranspositionTable(maxEntries));
+    }
+
+    /**
+     * Gets the stored decision for a state.
+     *
+     * @param key The state key.
+     * @return The statistics of the best guess, or {@code null} if the state is not stored.
+     */
+    public PartitionStats get(Key key) {
+        PartitionStats stats = segmentFor(key).get(key);
+        (stats != null ? hits : misses).increment();
+        return stats;
+    }
+
+    /**
+     * Stores the decision for a state, evicting the least recently used state of its segment if needed.
+     *
+     * @param key   The state key.
+     * @param stats The statistics of the best guess.
+     */
+    public void put(Key key, PartitionStats stats) {
+        segmentFor(key).put(key, stats);
+    }
+
+    /**
+     * Gets the number of lookups that found a stored decision.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of states stored.
+     *
+     * @return The number of entries across all segments.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Key key) {
+        return segments[(int) (key.hash1 >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * The key of a solver state: a fingerprint of its candidate set.
+     */
+    public static final class Key {
+        private final long hash1;
+        private final long hash2;
+        private final int count;
+
+        /**
+         * Fingerprints a candidate set.
+         *
+         * @param indices The mixed-radix indices of the candidates, in ascending order.
+         * @param count   The number of candidates.
+         */
+        public Key(int[] indices, int count) {
+            long h1 = 0L;
+            long h2 = 0L;
+            for (int i = 0; i < count; i++) {
+                h1 += mix(indices[i]);
+                h2 = h2 * 0x9E3779B97F4A7C15L + indices[i];
+            }
+            this.hash1 = mix(h1);
+            this.hash2 = h2;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hash1 == other.hash1 && hash2 == other.hash2 && count == other.count;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) hash1;
+        }
+
+        /**
+         * Spreads the bits of a value (the SplitMix64 finaliser).
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /**
+     * One lock stripe: an access-ordered map that drops its eldest entry when full.
+     */
+    private static final class Segment {
+        private final Map<Key, PartitionStats> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, PartitionStats> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized PartitionStats get(Key key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, PartitionStats stats) {
+            entries.put(key, stats);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.rws.mastermind.solver;
+
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.score.ScoreStrategy;
+
+/**
+ * The {@code WordFilter} class narrows 64-bit words of a candidate bitmap to the codes that
+ * would have given a score to a guess.
+ *
+ * <p>
+ * The codes of a word's set bits are scored together with the strategy's batch path. Words
+ * are usually visited in ascending order, so the packed code is stepped alongside the bit
+ * position and only recomputed from its index after a gap. Each instance owns its buffers
+ * and is used by one thread.
+ * </p>
+ */
+final class WordFilter {
+    private final ScoreStrategy strategy;
+    private final CodeSpace space;
+    private final int codeLength;
+    private final int numVars;
+    private final long guess;
+    private final int score;
+    private final boolean batch;
+    private final long[] codes = new long[Long.SIZE];
+    private final short[] scores = new short[Long.SIZE];
+
+    private long nextIndex = -1L;
+    private long nextCode;
+
+    WordFilter(ScoreStrategy strategy, int codeLength, int numVars, long guess, int score) {
+        this.strategy = strategy;
+        this.space = new CodeSpace(codeLength, numVars);
+        this.codeLength = codeLength;
+        this.numVars = numVars;
+        this.guess = guess;
+        this.score = score;
+        this.batch = strategy.outcomeBound(codeLength) <= 1 << Short.SIZE;
+    }
+
+    /**
+     * Keeps the bits of a word whose codes match.
+     *
+     * @param firstIndex The mixed-radix index of the word's bit 0.
+     * @param word       The candidate bits; bits past the end of the code space must be clear.
+     * @return The bits of {@code word} whose codes would have given the score.
+     */
+    long retain(long firstIndex, long word) {
+        if (word == 0) {
+            return 0L;
+        }
+        long code = firstIndex == nextIndex ? nextCode : space.unrank(firstIndex);
+        int n = 0;
+        int last = Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+        for (int b = 0; b <= last; b++) {
+            if ((word & (1L << b)) != 0) {
+                codes[n++] = code;
+            }
+            code = space.next(code);
+        }
+        nextIndex = firstIndex + last + 1;
+        nextCode = code;
+        if (batch) {
+            strategy.scoreBatch(guess, codes, 0, n, scores, codeLength, numVars);
+        }
+
+        long kept = 0L;
+        int i = 0;
+        for (long bits = word; bits != 0; bits &= bits - 1, i++) {
+            int s = batch ? scores[i] & 0xFFFF : strategy.score(guess, codes[i], codeLength, numVars);
+            if (s == score) {
+                kept |= bits & -bits;
+            }
+        }
+        return kept;
+    }
+}
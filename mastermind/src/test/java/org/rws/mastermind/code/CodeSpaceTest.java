@@ -0,0 +1,51 @@
+package org.rws.mastermind.code;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeSpaceTest {
+
+    @Test
+    void testRankAndNextAgreeWithUnrank() {
+        CodeSpace space = new CodeSpace(5, 6);
+        long code = space.unrank(0);
+        for (long i = 0; i < space.size(); i++) {
+            assertEquals(space.unrank(i), code, "Stepping should reach the code at index " + i);
+            assertEquals(i, space.rank(code), "Rank should invert unrank");
+            code = space.next(code);
+        }
+        assertEquals(space.unrank(0), code, "The last code should wrap to the first");
+    }
+
+    @Test
+    void testSpliteratorSplitsEvenlyAndCoversSpace() {
+        CodeSpace space = new CodeSpace(4, 7);
+        Spliterator.OfLong right = space.indexSpliterator();
+        Spliterator.OfLong left = right.trySplit();
+        assertNotNull(left);
+        assertTrue(Math.abs(left.estimateSize() - right.estimateSize()) <= 1, "Halves should be balanced");
+
+        long[] codes = space.codes(true).toArray();
+        assertEquals(space.size(), codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals(space.unrank(i), codes[i], "Parallel codes should stay in index order");
+        }
+        assertEquals(space.size(), StreamSupport.longStream(left, false).count()
+                + StreamSupport.longStream(right, false).count());
+    }
+
+    @Test
+    void testStreamsLargeSpacesLazily() {
+        CodeSpace space = new CodeSpace(12, 8);
+        assertEquals(68_719_476_736L, space.indices(true).count(), "Counting should not enumerate codes");
+        long first = space.codes(false).skip(1_000_000).findFirst().orElseThrow();
+        assertEquals(space.unrank(1_000_000), first);
+        long random = space.random(new Random(1));
+        assertEquals(random, space.unrank(space.rank(random)));
+    }
+}
@@ -0,0 +1,45 @@
+package org.rws.mastermind.engine;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one guess through the headless engine: validation, packing, scoring
+ * and the structured result.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=HeadlessEngineBenchmark}.
+ * The game never ends, so every invocation is a scored guess.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeadlessEngineBenchmark {
+
+    @Param({"standard", "pattern", "hl"})
+    public String feedbackType;
+
+    private HeadlessEngine engine;
+    private long packedGuess;
+
+    @Setup
+    public void setUp() {
+        engine = new HeadlessEngine(HeadlessEngineTest.settings(4, "12345678", Integer.MAX_VALUE, feedbackType), "1234");
+        packedGuess = 0x7654L;
+    }
+
+    @Benchmark
+    public GuessResult guessString() {
+        return engine.guess("5678");
+    }
+
+    @Benchmark
+    public GuessResult guessPacked() {
+        return engine.guess(packedGuess);
+    }
+}
@@ -0,0 +1,100 @@
+package org.rws.mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.settings.GameSetter;
+import org.rws.mastermind.solver.MinimaxSolver;
+import org.rws.mastermind.solver.Solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessEngineTest {
+
+    @Test
+    void testSolverWinsThroughEngine() {
+        HeadlessEngine engine = new HeadlessEngine(settings(4, "123456", 10, "standard"), "3612");
+        Solver solver = new MinimaxSolver(new BasicStrategy(), 4, "123456");
+
+        GuessResult result;
+        do {
+            long guess = solver.nextGuess();
+            result = engine.guess(guess);
+            assertEquals(GuessResult.Status.SCORED, result.getStatus());
+            solver.update(guess, result.getScore().getValue());
+        } while (!result.isGameOver());
+
+        assertTrue(result.isWon(), "Minimax should crack the code within ten rounds");
+        assertTrue(engine.isGameWon());
+        assertSame(GuessResult.GAME_OVER, engine.guess("1111"), "No guess is scored after the game ends");
+    }
+
+    @Test
+    void testInvalidGuessesAreNotCounted() {
+        HeadlessEngine engine = new HeadlessEngine(settings(4, "123456", 3, "pattern"), "1234");
+        assertSame(GuessResult.INVALID, engine.guess("123"));
+        assertSame(GuessResult.INVALID, engine.guess("1237"));
+        assertEquals(3, engine.getAttemptsLeft());
+
+        GuessResult result = engine.guess("1256");
+        assertEquals(0b0011, result.getScore().getValue(), "The first two positions are correct");
+        assertEquals(2, result.getAttemptsLeft());
+        assertFalse(result.isGameOver());
+        assertThrows(IllegalArgumentException.class, () -> engine.reset("12"));
+    }
+
+    @Test
+    void testOutOfRangePackedGuessesAreInvalid() {
+        HeadlessEngine engine = new HeadlessEngine(settings(4, "123456", 10, "standard"), "1234");
+        assertSame(GuessResult.INVALID, engine.guess(-1L));
+        assertSame(GuessResult.INVALID, engine.guess(0x6000L), "Symbol 6 is outside six characters");
+        assertSame(GuessResult.INVALID, engine.guess(0x10000L), "Bits above the last position are invalid");
+        assertEquals(10, engine.getAttemptsLeft());
+        assertTrue(engine.guess(0x3210L).isWon(), "Position 0 is the least significant nibble");
+    }
+
+    @Test
+    void testEngineCanBeDrivenFromManyThreads() throws Exception {
+        int rounds = 10_000;
+        HeadlessEngine engine = new HeadlessEngine(settings(5, "12345678", rounds, "hl"), "88888");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> players = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                players.add(executor.submit(() -> {
+                    int scored = 0;
+                    while (engine.guess("12345").getStatus() == GuessResult.Status.SCORED) {
+                        scored++;
+                    }
+                    return scored;
+                }));
+            }
+            int scored = 0;
+            for (Future<Integer> player : players) {
+                scored += player.get();
+            }
+            assertEquals(rounds, scored, "Every round should be scored exactly once");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(engine.isGameOver());
+        assertFalse(engine.isGameWon());
+    }
+
+    static GameSetter settings(int codeLength, String validCharacters, int rounds, String feedbackType) {
+        return new GameSetter() {
+            @Override public void initSettingsMenu() { }
+            @Override public int getNumberOfPlayers() { return 1; }
+            @Override public int getNumberOfRounds() { return rounds; }
+            @Override public int getCodeLength() { return codeLength; }
+            @Override public String getCodeCharString() { return validCharacters; }
+            @Override public String getCodeType() { return "random"; }
+            @Override public String getFeedbackType() { return feedbackType; }
+        };
+    }
+}
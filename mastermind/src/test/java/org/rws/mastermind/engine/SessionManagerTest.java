@@ -0,0 +1,117 @@
+package org.rws.mastermind.engine;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.settings.GameSetter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionManagerTest {
+
+    private final GameSetter settings = HeadlessEngineTest.settings(4, "12345678", 10, "standard");
+
+    @Test
+    void testHundredThousandConcurrentSessions() throws Exception {
+        int count = 100_000;
+        try (SessionManager manager = new SessionManager(count, 0L)) {
+            List<ManagedSession> sessions = new ArrayList<>(count);
+            List<CompletableFuture<GuessResult>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String secret = String.valueOf(1111 + i % 7);
+                ManagedSession session = manager.createSession(settings, secret);
+                sessions.add(session);
+                results.add(manager.submitGuess(session.getId(), secret));
+            }
+            assertEquals(count, manager.size());
+            assertThrows(IllegalStateException.class, () -> manager.createSession(settings),
+                    "Sessions above the maximum should be refused");
+
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+            for (int i = 0; i < count; i++) {
+                assertTrue(results.get(i).get().isWon(), "Session " + i + " should be won by its own secret");
+                assertSame(sessions.get(i), manager.getSession(sessions.get(i).getId()));
+            }
+        }
+    }
+
+    @Test
+    void testGuessesArePlayedInOrder() throws Exception {
+        try (SessionManager manager = new SessionManager(10, 0L)) {
+            ManagedSession session = manager.createSession(settings, "8888");
+            List<CompletableFuture<GuessResult>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                results.add(manager.submitGuess(session.getId(), "1234"));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals(9 - i, results.get(i).get(10, TimeUnit.SECONDS).getAttemptsLeft());
+            }
+            assertSame(GuessResult.GAME_OVER, results.get(10).get(10, TimeUnit.SECONDS));
+            assertSame(GuessResult.GAME_OVER, results.get(11).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testFailedTurnDoesNotStallSession() throws Exception {
+        CharSequence broken = new CharSequence() {
+            @Override public int length() { return 4; }
+            @Override public char charAt(int index) { throw new IllegalStateException("unreadable guess"); }
+            @Override public CharSequence subSequence(int start, int end) { throw new UnsupportedOperationException(); }
+        };
+        try (SessionManager manager = new SessionManager(10, 0L)) {
+            ManagedSession session = manager.createSession(settings, "8888");
+            CompletableFuture<GuessResult> failed = manager.submitGuess(session.getId(), broken);
+            CompletableFuture<GuessResult> next = manager.submitGuess(session.getId(), "1234");
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals(9, next.get(10, TimeUnit.SECONDS).getAttemptsLeft(), "Later guesses should still be played");
+            assertEquals(8, manager.submitGuess(session.getId(), "1234").get(10, TimeUnit.SECONDS).getAttemptsLeft());
+        }
+    }
+
+    @Test
+    void testErrorInTurnCompletesItsFuture() throws Exception {
+        CharSequence broken = new CharSequence() {
+            @Override public int length() { return 4; }
+            @Override public char charAt(int index) { throw new StackOverflowError("deep guess"); }
+            @Override public CharSequence subSequence(int start, int end) { throw new UnsupportedOperationException(); }
+        };
+        try (SessionManager manager = new SessionManager(10, 0L)) {
+            ManagedSession session = manager.createSession(settings, "8888");
+            CompletableFuture<GuessResult> failed = manager.submitGuess(session.getId(), broken);
+            CompletableFuture<GuessResult> next = manager.submitGuess(session.getId(), "1234");
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause(), "The error should reach the caller");
+            assertEquals(9, next.get(10, TimeUnit.SECONDS).getAttemptsLeft(), "Later guesses should still be played");
+        }
+    }
+
+    @Test
+    void testCloseAndExpire() throws Exception {
+        try (SessionManager manager = new SessionManager(10, 60_000L)) {
+            ManagedSession closed = manager.createSession(settings);
+            ManagedSession idle = manager.createSession(settings);
+            ManagedSession active = manager.createSession(settings);
+
+            assertTrue(manager.closeSession(closed.getId()));
+            assertFalse(manager.closeSession(closed.getId()));
+            assertTrue(closed.isClosed());
+            assertNull(manager.submitGuess(closed.getId(), "1234"), "A closed session cannot be found");
+
+            Thread.sleep(5);
+            manager.submitGuess(active.getId(), "1234").get(10, TimeUnit.SECONDS);
+            long now = active.getLastAccessMillis() + 60_000L - 1;
+            assertEquals(1, manager.expireIdleSessions(now), "Only the session without guesses should expire");
+            assertNull(manager.getSession(idle.getId()));
+            assertTrue(idle.isClosed());
+            assertSame(active, manager.getSession(active.getId()));
+            assertEquals(1, manager.size());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.rws.mastermind.models;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.Code;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.solver.CandidateSetFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateTest {
+
+    @Test
+    void testGameStateTracksCandidates() {
+        GameState untracked = new GameState(new Code("1234", "123456"), "standard", 10);
+        assertEquals(-1, untracked.getRemainingCandidates(), "Tracking should be off by default");
+
+        GameState state = new GameState(new Code("1234", "123456"), "standard", 10, true);
+        assertEquals(1296, state.getRemainingCandidates());
+        state.submitGuess("1122");
+        state.submitGuess("3456");
+        assertTrue(state.getRemainingCandidates() > 0 && state.getRemainingCandidates() < 1296,
+                "Each guess should narrow the candidates");
+        assertTrue(state.getCandidates().contains(PackedCode.toIndex(PackedCode.pack("1234", "123456"), 4, 6)),
+                "The secret code should remain a candidate");
+        assertTrue(state.getCandidateMemoryBytes() > 0, "Memory use should be reported");
+    }
+
+    @Test
+    void testCandidatesAreNotTrackedAboveTheLimit() {
+        assertTrue(PackedCode.spaceSize(9, 8) > CandidateSetFactory.DEFAULT_MAX_CODES);
+        GameState state = new GameState(new Code("123456781", "12345678"), "standard", 10, true);
+        assertNull(state.getCandidates(), "No candidate set should be created above the limit");
+        assertEquals(-1, state.getRemainingCandidates(), "Large spaces should report untracked candidates");
+        assertEquals(0, state.getCandidateMemoryBytes());
+
+        state.submitGuess("112233445");
+        assertEquals(-1, state.getRemainingCandidates(), "Guesses should still be played without tracking");
+        assertEquals(9, state.getAttemptsLeft());
+    }
+}
@@ -2,6 +2,7 @@ package org.rws.mastermind.models;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,4 +37,28 @@ class ValidatorTest {
     void testEmptyGuess() {
         assertFalse(validator.isValidGuess(""), "An empty guess should return false");
     }
+
+    @Test
+    void testEncodeMatchesPackedCode() {
+        assertEquals(PackedCode.pack("RGBY", "RGBY"), validator.encode("RGBY"));
+        assertEquals(PackedCode.pack("YBGR", "RGBY"), validator.encode("YBGR"));
+        assertEquals(PackedCode.pack("RRRR", "RGBY"), validator.encode("RRRR"));
+    }
+
+    @Test
+    void testEncodeRejectsInvalidGuess() {
+        assertEquals(-1L, validator.encode(null), "A null guess should not encode");
+        assertEquals(-1L, validator.encode("RGB"), "A short guess should not encode");
+        assertEquals(-1L, validator.encode("RGB\u00e9"), "Characters above the table should not encode");
+        assertEquals(-1L, validator.encode("RGB "), "Characters inside the table range should be checked");
+    }
+
+    @Test
+    void testUnsupportedConfigurationsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Validator(0, "RGBY"), "Length 0 should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new Validator(-1, "RGBY"));
+        assertThrows(IllegalArgumentException.class, () -> new Validator(4, ""), "An empty alphabet should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new Validator(16, "RGBY"));
+        assertThrows(IllegalArgumentException.class, () -> new Validator(4, "0123456789ABCDEFG"));
+    }
 }
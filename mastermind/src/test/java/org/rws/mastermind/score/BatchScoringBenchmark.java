@@ -0,0 +1,65 @@
+package org.rws.mastermind.score;
+
+import org.openjdk.jmh.annotations.*;
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares batch scoring against the per-pair loop for the default 4 x 8 configuration.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BatchScoringBenchmark}.
+ * Each invocation scores one guess against every code in the space.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchScoringBenchmark {
+
+    @Param({"standard", "pattern", "hl"})
+    public String feedbackType;
+
+    private static final int LENGTH = 4;
+    private static final int NUM_VARS = 8;
+
+    private ScoreStrategy strategy;
+    private long[] candidates;
+    private byte[] out;
+    private long guess;
+
+    @Setup
+    public void setUp() {
+        strategy = switch (feedbackType) {
+            case "pattern" -> new PatternStrategy();
+            case "hl" -> new HighLowStrategy();
+            default -> new BasicStrategy();
+        };
+
+        int codes = (int) PackedCode.spaceSize(LENGTH, NUM_VARS);
+        candidates = new long[codes];
+        for (int i = 0; i < codes; i++) {
+            candidates[i] = PackedCode.fromIndex(i, LENGTH, NUM_VARS);
+        }
+        out = new byte[codes];
+        guess = PackedCode.pack("1123", "12345678");
+    }
+
+    @Benchmark
+    public byte[] perPair() {
+        for (int i = 0; i < candidates.length; i++) {
+            out[i] = (byte) strategy.score(guess, candidates[i], LENGTH, NUM_VARS);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public byte[] batch() {
+        strategy.scoreBatch(guess, candidates, 0, candidates.length, out, LENGTH, NUM_VARS);
+        return out;
+    }
+}
@@ -0,0 +1,65 @@
+package org.rws.mastermind.score;
+
+import org.openjdk.jmh.annotations.*;
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bit-sliced filtering against batch scoring followed by a compare loop.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BitSlicedBenchmark}.
+ * Each invocation counts the codes in the whole space that give one score for one guess.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitSlicedBenchmark {
+
+    @Param({"4", "6"})
+    public int codeLength;
+
+    private static final int NUM_VARS = 8;
+
+    private final BasicStrategy strategy = new BasicStrategy();
+    private BitSlicedCandidates sliced;
+    private long[] candidates;
+    private byte[] out;
+    private long guess;
+    private int score;
+
+    @Setup
+    public void setUp() {
+        int codes = (int) PackedCode.spaceSize(codeLength, NUM_VARS);
+        candidates = new long[codes];
+        for (int i = 0; i < codes; i++) {
+            candidates[i] = PackedCode.fromIndex(i, codeLength, NUM_VARS);
+        }
+        sliced = new BitSlicedCandidates(candidates, 0, codes, codeLength, NUM_VARS);
+        out = new byte[codes];
+        guess = candidates[codes / 3];
+        score = BasicStrategy.packScore(1, 1);
+    }
+
+    @Benchmark
+    public int batchThenCompare() {
+        strategy.scoreBatch(guess, candidates, 0, candidates.length, out, codeLength, NUM_VARS);
+        int matching = 0;
+        for (byte b : out) {
+            if (b == score) {
+                matching++;
+            }
+        }
+        return matching;
+    }
+
+    @Benchmark
+    public int bitSliced() {
+        return sliced.countMatches(guess, score);
+    }
+}
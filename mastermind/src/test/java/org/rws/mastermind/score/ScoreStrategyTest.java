@@ -0,0 +1,191 @@
+package org.rws.mastermind.score;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreStrategyTest {
+
+    private static final String CHARS = "12345678";
+    private static final int LENGTH = 4;
+    private static final int SPACE = 4096;
+
+    @Test
+    void testPackRoundTrip() {
+        long packed = PackedCode.pack("1827", CHARS);
+        assertEquals("1827", PackedCode.unpack(packed, LENGTH, CHARS), "Unpacking should restore the code");
+
+        long index = PackedCode.toIndex(packed, LENGTH, CHARS.length());
+        assertEquals(packed, PackedCode.fromIndex(index, LENGTH, CHARS.length()), "Index should convert back to the packed code");
+    }
+
+    @Test
+    void testInvalidCharacterRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PackedCode.pack("1290", CHARS),
+                "Characters outside the valid characters should not pack");
+    }
+
+    @Test
+    void testBasicPackedMatchesReferenceScoring() {
+        BasicStrategy strategy = new BasicStrategy();
+        for (int g = 0; g < SPACE; g += 7) {
+            long guess = PackedCode.fromIndex(g, LENGTH, CHARS.length());
+            String guessString = PackedCode.unpack(guess, LENGTH, CHARS);
+            for (int s = 0; s < SPACE; s += 5) {
+                long secret = PackedCode.fromIndex(s, LENGTH, CHARS.length());
+                String secretString = PackedCode.unpack(secret, LENGTH, CHARS);
+
+                int score = strategy.score(guess, secret, LENGTH, CHARS.length());
+                assertEquals(referenceScore(guessString, secretString), score,
+                        "Packed scoring should agree with reference scoring for " + guessString + "/" + secretString);
+            }
+        }
+    }
+
+    @Test
+    void testRendering() {
+        long guess = PackedCode.pack("1357", CHARS);
+        long secret = PackedCode.pack("1537", CHARS);
+
+        BasicStrategy basic = new BasicStrategy();
+        assertEquals("2 black peg(s), 2 white peg(s)",
+                basic.render(basic.score(guess, secret, LENGTH, CHARS.length()), guess, LENGTH, CHARS),
+                "Standard feedback should count black and white pegs");
+
+        PatternStrategy pattern = new PatternStrategy();
+        assertEquals("Hint: 1__7",
+                pattern.render(pattern.score(guess, secret, LENGTH, CHARS.length()), guess, LENGTH, CHARS),
+                "Pattern hint should show the correct characters in place");
+
+        HighLowStrategy highLow = new HighLowStrategy();
+        assertEquals("correct | higher | lower | correct",
+                highLow.render(highLow.score(guess, secret, LENGTH, CHARS.length()), guess, LENGTH, CHARS),
+                "High/low hint should compare each position");
+    }
+
+    @Test
+    void testInternedResults() {
+        BasicStrategy basic = new BasicStrategy();
+        ScoreResultCache cache = ScoreResultCache.forConfiguration(basic, LENGTH, CHARS);
+        assertTrue(cache.isInterned(), "Standard outcomes should be pre-rendered");
+        assertSame(cache.get(BasicStrategy.packScore(1, 2), 0L), cache.get(BasicStrategy.packScore(1, 2), 1L),
+                "The same outcome should be shared");
+        assertTrue(cache.get(BasicStrategy.packScore(LENGTH, 0), 0L).isSolved(), "All black pegs should solve the code");
+
+        ScoreResultCache patternCache = ScoreResultCache.forConfiguration(new PatternStrategy(), LENGTH, CHARS);
+        assertFalse(patternCache.isInterned(), "Pattern hints depend on the guess and should not be interned");
+    }
+
+    @Test
+    void testBatchMatchesPairScoring() {
+        ScoreStrategy[] strategies = { new BasicStrategy(), new PatternStrategy(), new HighLowStrategy() };
+        long[] candidates = new long[SPACE];
+        for (int i = 0; i < SPACE; i++) {
+            candidates[i] = PackedCode.fromIndex(i, LENGTH, CHARS.length());
+        }
+
+        byte[] bytes = new byte[SPACE];
+        short[] shorts = new short[SPACE];
+        for (ScoreStrategy strategy : strategies) {
+            for (int g = 0; g < SPACE; g += 97) {
+                long guess = candidates[g];
+                strategy.scoreBatch(guess, candidates, 0, SPACE, bytes, LENGTH, CHARS.length());
+                strategy.scoreBatch(guess, candidates, 0, SPACE, shorts, LENGTH, CHARS.length());
+                for (int s = 0; s < SPACE; s++) {
+                    int expected = strategy.score(guess, candidates[s], LENGTH, CHARS.length());
+                    assertEquals(expected, bytes[s] & 0xFF, strategy.getClass().getSimpleName() + " byte batch");
+                    assertEquals(expected, shorts[s] & 0xFFFF, strategy.getClass().getSimpleName() + " short batch");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testHighLowBatchOnLongCodes() {
+        HighLowStrategy highLow = new HighLowStrategy();
+        int length = 12;
+        long[] candidates = new long[1000];
+        Random random = new Random(42);
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = PackedCode.fromIndex(Math.floorMod(random.nextLong(), PackedCode.spaceSize(length, 8)), length, 8);
+        }
+
+        for (long guess : candidates) {
+            for (long candidate : candidates) {
+                assertEquals(positionalHints(guess, candidate, length), highLow.score(guess, candidate, length, 8),
+                        "Branch-free hints should match the positional loop");
+            }
+        }
+
+        short[] batch = new short[candidates.length];
+        for (int g = 0; g < candidates.length; g += 17) {
+            long guess = candidates[g] & 0xFFFFFFFFL;
+            highLow.scoreBatch(guess, candidates, 0, candidates.length, batch, 8, 8);
+            for (int c = 0; c < candidates.length; c++) {
+                assertEquals(positionalHints(guess, candidates[c] & 0xFFFFFFFFL, 8), batch[c] & 0xFFFF,
+                        "The batch kernel should score the first eight positions");
+            }
+        }
+    }
+
+    private static int positionalHints(long guess, long secret, int length) {
+        int hints = 0;
+        for (int i = 0; i < length; i++) {
+            int guessSymbol = PackedCode.symbolAt(guess, i);
+            int secretSymbol = PackedCode.symbolAt(secret, i);
+            if (guessSymbol != secretSymbol) {
+                hints |= (guessSymbol < secretSymbol ? HighLowStrategy.HIGHER : HighLowStrategy.LOWER) << (2 * i);
+            }
+        }
+        return hints;
+    }
+
+    @Test
+    void testBitSlicedMatchesPairScoring() {
+        BasicStrategy basic = new BasicStrategy();
+        int length = 5;
+        int numVars = 10;
+        long[] candidates = new long[1000];
+        Random random = new Random(7);
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = PackedCode.fromIndex(random.nextInt(100000), length, numVars);
+        }
+
+        BitSlicedCandidates sliced = new BitSlicedCandidates(candidates, 1, candidates.length - 1, length, numVars);
+        byte[] scores = new byte[sliced.size()];
+        long[] masks = new long[sliced.blockCount()];
+        for (int g = 0; g < candidates.length; g += 13) {
+            long guess = candidates[g];
+            sliced.scoreBatch(guess, scores);
+            int[] histogram = new int[basic.outcomeBound(length)];
+            for (int i = 0; i < sliced.size(); i++) {
+                int expected = basic.score(guess, sliced.get(i), length, numVars);
+                assertEquals(expected, scores[i] & 0xFF, "Bit-sliced score should match pair scoring");
+                histogram[expected]++;
+            }
+
+            int score = scores[g % sliced.size()] & 0xFF;
+            assertEquals(histogram[score], sliced.matches(guess, score, masks), "Match count should agree with the scores");
+            for (int i = 0; i < sliced.size(); i++) {
+                assertEquals((scores[i] & 0xFF) == score, (masks[i >>> 6] >>> i & 1) != 0, "Match mask should agree with the scores");
+            }
+        }
+    }
+
+    private static int referenceScore(String guess, String secret) {
+        int black = 0;
+        int common = 0;
+        for (int i = 0; i < guess.length(); i++) {
+            if (guess.charAt(i) == secret.charAt(i)) {
+                black++;
+            }
+        }
+        for (char c : CHARS.toCharArray()) {
+            common += Math.min(guess.chars().filter(x -> x == c).count(), secret.chars().filter(x -> x == c).count());
+        }
+        return BasicStrategy.packScore(black, common - black);
+    }
+}
@@ -0,0 +1,135 @@
+package org.rws.mastermind.score;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rws.mastermind.code.PackedCode;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ScoreTableTest {
+    private static final String DIR_PROPERTY = "mastermind.scoreTable.dir";
+    private static final String MAX_ENTRIES_PROPERTY = "mastermind.scoreTable.maxEntries";
+
+    private final ScoreStrategy strategy = new BasicStrategy();
+    private String previousDir;
+    private String previousMaxEntries;
+
+    @BeforeEach
+    void saveProperties() {
+        previousDir = System.getProperty(DIR_PROPERTY);
+        previousMaxEntries = System.getProperty(MAX_ENTRIES_PROPERTY);
+    }
+
+    @AfterEach
+    void restoreProperties() {
+        restore(DIR_PROPERTY, previousDir);
+        restore(MAX_ENTRIES_PROPERTY, previousMaxEntries);
+    }
+
+    @Test
+    void testTableMatchesStrategy(@TempDir Path dir) {
+        System.setProperty(DIR_PROPERTY, dir.toString());
+        ScoreTable table = ScoreTable.forConfiguration(strategy, 3, 4);
+        assertNotNull(table);
+        assertTrue(Files.isRegularFile(dir.resolve("standard-3x4.bin")));
+        assertSame(table, ScoreTable.forConfiguration(strategy, 3, 4), "The table should be shared");
+
+        for (int g = 0; g < 64; g++) {
+            for (int s = 0; s < 64; s++) {
+                long guess = PackedCode.fromIndex(g, 3, 4);
+                long secret = PackedCode.fromIndex(s, 3, 4);
+                assertEquals(strategy.score(guess, secret, 3, 4), table.score(g, s));
+            }
+        }
+    }
+
+    @Test
+    void testExistingTableIsMappedWithoutRebuilding(@TempDir Path first, @TempDir Path second) throws IOException {
+        Path built = build(first);
+        Path copy = Files.copy(built, second.resolve(built.getFileName()));
+        FileTime modified = Files.getLastModifiedTime(copy);
+
+        System.setProperty(DIR_PROPERTY, second.toString());
+        assertNotNull(ScoreTable.forConfiguration(strategy, 3, 4));
+        assertEquals(modified, Files.getLastModifiedTime(copy), "A valid table should be mapped as it is");
+    }
+
+    @Test
+    void testCorruptTruncatedOrStaleTableIsRebuilt(@TempDir Path source, @TempDir Path corrupt,
+                                                   @TempDir Path truncated, @TempDir Path stale) throws IOException {
+        Path built = build(source);
+        byte[] expected = Files.readAllBytes(built);
+
+        Path flipped = Files.copy(built, corrupt.resolve(built.getFileName()));
+        try (RandomAccessFile file = new RandomAccessFile(flipped.toFile(), "rw")) {
+            file.seek(expected.length - 1);
+            file.write(expected[expected.length - 1] ^ 1);
+        }
+        Path cut = Files.copy(built, truncated.resolve(built.getFileName()));
+        try (RandomAccessFile file = new RandomAccessFile(cut.toFile(), "rw")) {
+            file.setLength(expected.length - 1);
+        }
+        Path old = Files.copy(built, stale.resolve(built.getFileName()));
+        try (RandomAccessFile file = new RandomAccessFile(old.toFile(), "rw")) {
+            file.seek(4);
+            file.writeInt(1);
+        }
+
+        for (Path dir : new Path[] { corrupt, truncated, stale }) {
+            System.setProperty(DIR_PROPERTY, dir.toString());
+            ScoreTable table = ScoreTable.forConfiguration(strategy, 3, 4);
+            assertNotNull(table, "A bad table in " + dir + " should be rebuilt");
+            assertEquals(strategy.score(PackedCode.fromIndex(63, 3, 4), PackedCode.fromIndex(63, 3, 4), 3, 4),
+                    table.score(63, 63));
+            assertArrayEquals(expected, Files.readAllBytes(dir.resolve(built.getFileName())));
+        }
+    }
+
+    @Test
+    void testThresholdAndInvalidConfigurations(@TempDir Path dir) throws IOException {
+        System.setProperty(DIR_PROPERTY, dir.toString());
+        System.setProperty(MAX_ENTRIES_PROPERTY, String.valueOf(64 * 64 - 1));
+        assertNull(ScoreTable.forConfiguration(strategy, 3, 4), "A table over the threshold should not be built");
+
+        System.setProperty(MAX_ENTRIES_PROPERTY, String.valueOf(64 * 64));
+        assertNull(ScoreTable.forConfiguration(strategy, 0, 4));
+        assertNull(ScoreTable.forConfiguration(strategy, 3, 0));
+        assertNotNull(ScoreTable.forConfiguration(strategy, 3, 4), "A table at the threshold should be built");
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count(), "Only the valid table should be written, with no leftover files");
+        }
+    }
+
+    @Test
+    void testSharedDirectoryIsRefused(@TempDir Path dir) throws IOException {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxrwxrwx"));
+        System.setProperty(DIR_PROPERTY, dir.toString());
+        assertNull(ScoreTable.forConfiguration(strategy, 3, 4), "Tables in a directory others can write are not trusted");
+    }
+
+    private Path build(Path dir) {
+        System.setProperty(DIR_PROPERTY, dir.toString());
+        assertNotNull(ScoreTable.forConfiguration(strategy, 3, 4));
+        return dir.resolve("standard-3x4.bin");
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) {
+            System.clearProperty(property);
+        } else {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.rws.mastermind.score;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.Code;
+import org.rws.mastermind.feedback.Feedback;
+import org.rws.mastermind.feedback.FeedbackFactory;
+import org.rws.mastermind.models.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScorerConcurrencyTest {
+
+    private static final String[] FEEDBACK_TYPES = { "standard", "pattern", "hl" };
+    private static final int SESSIONS = 4000;
+    private static final int GUESSES = 40;
+    private static final String MAX_ENTRIES_PROPERTY = "mastermind.scoreTable.maxEntries";
+
+    @Test
+    void testConcurrentSessionsKeepTheirOwnSecretAndRules() throws Exception {
+        // Keep score tables to small configurations, which still exercises both scoring paths.
+        String maxEntries = System.getProperty(MAX_ENTRIES_PROPERTY);
+        System.setProperty(MAX_ENTRIES_PROPERTY, String.valueOf(1 << 20));
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> sessions = new ArrayList<>();
+        try {
+            for (int s = 0; s < SESSIONS; s++) {
+                long seed = s;
+                sessions.add(executor.submit(() -> {
+                    start.await();
+                    playSession(new SplittableRandom(seed));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            if (maxEntries == null) {
+                System.clearProperty(MAX_ENTRIES_PROPERTY);
+            } else {
+                System.setProperty(MAX_ENTRIES_PROPERTY, maxEntries);
+            }
+        }
+    }
+
+    /**
+     * Creates a session with random rules and secret, then checks every feedback against a
+     * naive reference, yielding between steps so that sessions interleave.
+     */
+    private static void playSession(SplittableRandom random) {
+        int codeLength = random.nextInt(3, 9);
+        String validCharacters = "123456789ABCDEF".substring(0, random.nextInt(4, 11));
+        String type = FEEDBACK_TYPES[random.nextInt(FEEDBACK_TYPES.length)];
+        String secret = randomCode(random, codeLength, validCharacters);
+
+        Validator validator = new Validator(codeLength, validCharacters);
+        Feedback feedback = FeedbackFactory.createFeedback(new Code(secret, validCharacters), type);
+        Thread.yield();
+
+        for (int g = 0; g < GUESSES; g++) {
+            String guess = randomCode(random, codeLength, validCharacters);
+            assertTrue(validator.isValidGuess(guess), guess + " should be valid for " + validCharacters);
+            assertFalse(validator.isValidGuess(guess + validCharacters.charAt(0)), "Length should be checked");
+
+            ScoreResult result = feedback.generateFeedback(guess);
+            assertEquals(expectedScore(type, guess, secret, validCharacters), result.getValue(),
+                    type + " feedback for " + guess + " against " + secret);
+            Thread.yield();
+        }
+        assertTrue(feedback.generateFeedback(secret).isSolved(), "The secret should solve its own session");
+    }
+
+    private static String randomCode(SplittableRandom random, int codeLength, String validCharacters) {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < codeLength; i++) {
+            code.append(validCharacters.charAt(random.nextInt(validCharacters.length())));
+        }
+        return code.toString();
+    }
+
+    private static int expectedScore(String type, String guess, String secret, String validCharacters) {
+        int score = 0;
+        switch (type) {
+            case "pattern" -> {
+                for (int i = 0; i < guess.length(); i++) {
+                    if (guess.charAt(i) == secret.charAt(i)) {
+                        score |= 1 << i;
+                    }
+                }
+            }
+            case "hl" -> {
+                for (int i = 0; i < guess.length(); i++) {
+                    int g = validCharacters.indexOf(guess.charAt(i));
+                    int s = validCharacters.indexOf(secret.charAt(i));
+                    int hint = g < s ? HighLowStrategy.HIGHER : g > s ? HighLowStrategy.LOWER : HighLowStrategy.CORRECT;
+                    score |= hint << (2 * i);
+                }
+            }
+            default -> {
+                int black = 0;
+                int[] guessCounts = new int[validCharacters.length()];
+                int[] secretCounts = new int[validCharacters.length()];
+                for (int i = 0; i < guess.length(); i++) {
+                    if (guess.charAt(i) == secret.charAt(i)) {
+                        black++;
+                    } else {
+                        guessCounts[validCharacters.indexOf(guess.charAt(i))]++;
+                        secretCounts[validCharacters.indexOf(secret.charAt(i))]++;
+                    }
+                }
+                int white = 0;
+                for (int c = 0; c < guessCounts.length; c++) {
+                    white += Math.min(guessCounts[c], secretCounts[c]);
+                }
+                score = BasicStrategy.packScore(black, white);
+            }
+        }
+        return score;
+    }
+}
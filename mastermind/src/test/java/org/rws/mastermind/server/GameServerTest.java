@@ -0,0 +1,81 @@
+package org.rws.mastermind.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new GameServer(0, null);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testGameIsPlayedOverHttp() throws Exception {
+        HttpResponse<String> created = send("POST", "/games",
+                "{\"player\":\"ada\",\"secret\":\"1234\",\"characters\":\"123456\",\"rounds\":5}");
+        assertEquals(201, created.statusCode());
+        String id = Json.parseObject(created.body()).get("id");
+        String game = "/games/" + id;
+
+        assertEquals(400, send("POST", game + "/guesses", "{\"guess\":\"1239\"}").statusCode());
+
+        Map<String, String> miss = Json.parseObject(send("POST", game + "/guesses", "{\"guess\":\"1243\"}").body());
+        assertEquals("2", miss.get("exactMatches"));
+        assertEquals("4", miss.get("attemptsLeft"), "The invalid guess must not use a round");
+        assertEquals("false", miss.get("over"));
+        assertFalse(Json.parseObject(send("GET", game, null).body()).containsKey("secret"));
+
+        Map<String, String> hit = Json.parseObject(send("POST", game + "/guesses", "{\"guess\":\"1234\"}").body());
+        assertEquals("true", hit.get("won"));
+        assertEquals(409, send("POST", game + "/guesses", "{\"guess\":\"1234\"}").statusCode());
+        assertEquals("1234", Json.parseObject(send("GET", game, null).body()).get("secret"));
+
+        String leaderboard = send("GET", "/leaderboard?limit=5", null).body();
+        assertTrue(leaderboard.contains("{\"name\":\"ada\",\"wins\":1,\"losses\":0}"), leaderboard);
+    }
+
+    @Test
+    void testBadRequestsAreRejected() throws Exception {
+        assertEquals(404, send("GET", "/games/unknown", null).statusCode());
+        assertEquals(404, send("POST", "/games/unknown/guesses", "{\"guess\":\"1234\"}").statusCode());
+        assertEquals(400, send("POST", "/games", "{\"feedback\":\"loud\"}").statusCode());
+        assertEquals(400, send("POST", "/games", "not json").statusCode());
+        assertEquals(400, send("POST", "/games", "{\"length\":\"0\"}").statusCode());
+        assertEquals(400, send("POST", "/games", "{\"characters\":\"\"}").statusCode());
+        assertEquals(400, send("POST", "/games", "{\"characters\":\"1123\"}").statusCode(),
+                "Duplicate characters should be rejected");
+        assertEquals(400, send("POST", "/games", "{\"player\":\"" + "a".repeat(65) + "\"}").statusCode(),
+                "Overlong player names should be rejected");
+
+        String id = Json.parseObject(send("POST", "/games", "{}").body()).get("id");
+        assertEquals(200, send("DELETE", "/games/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/games/" + id, null).statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
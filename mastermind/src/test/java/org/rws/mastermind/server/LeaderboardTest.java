@@ -0,0 +1,53 @@
+package org.rws.mastermind.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rws.mastermind.database.DatabaseSetup;
+import org.rws.mastermind.database.MastermindDB;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void testResultsAreLoadedFromTheDatabase(@TempDir Path dir) {
+        String dbFile = dir.resolve("players.db").toString();
+        DatabaseSetup.setupDatabase(dbFile);
+        MastermindDB db = new MastermindDB(dbFile);
+        try {
+            Leaderboard first = new Leaderboard(db);
+            first.record("ada", true);
+            first.record("ada", true);
+            first.record("bob, Wins: 9", false);
+            first.close();
+
+            Leaderboard second = new Leaderboard(db);
+            second.record("bob, Wins: 9", true);
+            second.close();
+            assertEquals(List.of(new Leaderboard.Standing("ada", 2, 0), new Leaderboard.Standing("bob, Wins: 9", 1, 1)),
+                    second.top(10), "Earlier results should be counted after a restart");
+        } finally {
+            db.closeDB();
+        }
+    }
+
+    @Test
+    void testNamesAndPlayersAreBounded() {
+        Leaderboard leaderboard = new Leaderboard(null);
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.record("", true));
+        assertThrows(IllegalArgumentException.class,
+                () -> leaderboard.record("a".repeat(Leaderboard.MAX_NAME_LENGTH + 1), true));
+
+        for (int i = 0; i < Leaderboard.MAX_PLAYERS; i++) {
+            leaderboard.record("player" + i, false);
+        }
+        leaderboard.record("latecomer", true);
+        leaderboard.record("player0", true);
+        List<Leaderboard.Standing> top = leaderboard.top(Leaderboard.MAX_PLAYERS + 1);
+        assertEquals(Leaderboard.MAX_PLAYERS, top.size(), "No players should be added beyond the cap");
+        assertEquals(new Leaderboard.Standing("player0", 1, 1), top.get(0), "Known players should still be counted");
+    }
+}
@@ -0,0 +1,85 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnytimeSolverTest {
+
+    @Test
+    void testSolvesSmallGamesExactly() {
+        ScoreStrategy strategy = new BasicStrategy();
+        CodeSpace space = new CodeSpace(4, 6);
+        Random random = new Random(7);
+        for (int game = 0; game < 20; game++) {
+            long secret = space.random(random);
+            AnytimeSolver solver = new AnytimeSolver(strategy, 4, "123456", 2_000L, new Random(game));
+            int turns = 0;
+            while (true) {
+                long guess = solver.nextGuess();
+                turns++;
+                if (guess == secret) {
+                    break;
+                }
+                solver.update(guess, strategy.score(guess, secret, 4, 6));
+                assertTrue(turns < 8, "Game " + game + " should be solved");
+            }
+        }
+    }
+
+    @Test
+    void testLargeSpaceRespectsDeadline() {
+        ScoreStrategy strategy = new BasicStrategy();
+        CodeSpace space = new CodeSpace(12, 8);
+        long secret = space.random(new Random(3));
+        AnytimeSolver solver = new AnytimeSolver(strategy, 12, "12345678", 50L, new Random(3));
+
+        for (int turn = 0; turn < 3; turn++) {
+            long start = System.nanoTime();
+            long guess = solver.nextGuess();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsed < 1_000, "A guess should come back near the deadline, took " + elapsed + " ms");
+
+            AnytimeReport report = solver.getLastReport();
+            assertFalse(report.isExact(), "A large space cannot be searched exhaustively");
+            assertTrue(report.getGuessCoverage() < 1.0);
+            solver.update(guess, strategy.score(guess, secret, 12, 8));
+        }
+        assertTrue(solver.getRemaining() < space.size(), "Feedback should shrink the estimate");
+    }
+
+    @Test
+    void testLargeSpaceGameIsPlayedToTheEnd() {
+        ScoreStrategy strategy = new BasicStrategy();
+        CodeSpace space = new CodeSpace(12, 8);
+        long secret = space.random(new Random(11));
+        AnytimeSolver solver = new AnytimeSolver(strategy, 12, "12345678", 50L, new Random(11));
+
+        Set<Long> played = new HashSet<>();
+        for (int turn = 1; ; turn++) {
+            long guess = solver.nextGuess();
+            assertTrue(played.add(guess), "Turn " + turn + " replayed a guess already known to be wrong");
+            if (guess == secret) {
+                break;
+            }
+            solver.update(guess, strategy.score(guess, secret, 12, 8));
+            assertTrue(turn < 30, "The game should be solved");
+        }
+    }
+
+    @Test
+    void testDeadlineIsPerCall() {
+        AnytimeSolver solver = new AnytimeSolver(new BasicStrategy(), 6, "12345678", 0L, new Random(1));
+        solver.nextGuess(0L);
+        assertEquals(0, solver.getLastReport().getRounds(), "No time should leave the heuristic guess");
+        solver.nextGuess(500L);
+        assertTrue(solver.getLastReport().getRounds() > 0, "More time should refine the guess");
+    }
+}
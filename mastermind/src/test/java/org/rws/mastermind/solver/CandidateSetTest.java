@@ -0,0 +1,118 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.ScoreStrategy;
+import org.rws.mastermind.score.ScoreStrategyFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+
+    private static final int LENGTH = 4;
+    private static final int NUM_VARS = 6;
+
+    @Test
+    void testFilteringMatchesBruteForce() {
+        Random random = new Random(11);
+        for (String type : new String[] { "standard", "pattern", "hl" }) {
+            ScoreStrategy strategy = ScoreStrategyFactory.createStrategy(type);
+            long space = PackedCode.spaceSize(LENGTH, NUM_VARS);
+            for (int game = 0; game < 10; game++) {
+                CandidateSet set = switch (game % 3) {
+                    case 0 -> new DenseCandidateSet(strategy, LENGTH, NUM_VARS);
+                    case 1 -> new OffHeapCandidateSet(strategy, LENGTH, NUM_VARS, 64);
+                    default -> new CompressedCandidateSet(strategy, LENGTH, NUM_VARS);
+                };
+                long secret = PackedCode.fromIndex(random.nextInt((int) space), LENGTH, NUM_VARS);
+                boolean[] expected = new boolean[(int) space];
+                Arrays.fill(expected, true);
+
+                for (int turn = 0; turn < 3; turn++) {
+                    long guess = PackedCode.fromIndex(random.nextInt((int) space), LENGTH, NUM_VARS);
+                    int score = strategy.score(guess, secret, LENGTH, NUM_VARS);
+                    set.retainMatching(guess, score);
+
+                    long count = 0;
+                    for (int i = 0; i < space; i++) {
+                        long code = PackedCode.fromIndex(i, LENGTH, NUM_VARS);
+                        expected[i] &= strategy.score(guess, code, LENGTH, NUM_VARS) == score;
+                        assertEquals(expected[i], set.contains(i), type + " membership of " + i);
+                        count += expected[i] ? 1 : 0;
+                    }
+                    assertEquals(count, set.cardinality(), type + " cardinality");
+                    assertTrue(set.contains(PackedCode.toIndex(secret, LENGTH, NUM_VARS)),
+                            "The secret code should never be filtered out");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testIterationAndCopy() {
+        ScoreStrategy strategy = ScoreStrategyFactory.createStrategy("standard");
+        for (CandidateSet set : new CandidateSet[] {
+                new DenseCandidateSet(strategy, LENGTH, NUM_VARS),
+                new OffHeapCandidateSet(strategy, LENGTH, NUM_VARS, 64),
+                new CompressedCandidateSet(strategy, LENGTH, NUM_VARS) }) {
+            assertIterationAndCopy(set);
+        }
+    }
+
+    private void assertIterationAndCopy(CandidateSet set) {
+        long guess = PackedCode.pack("1122", "123456");
+        CandidateSet copy = set.copy();
+        set.retainMatching(guess, 0x10);
+
+        long seen = 0;
+        for (long i = set.nextCandidate(0); i >= 0; i = set.nextCandidate(i + 1)) {
+            assertTrue(set.contains(i), "Iteration should only visit candidates");
+            seen++;
+        }
+        assertEquals(set.cardinality(), seen, "Iteration should visit every candidate");
+        assertEquals(1296, copy.cardinality(), "Filtering should not change a copy");
+        assertTrue(copy.contains(0) && !set.contains(0), "A copy should keep its own bits");
+    }
+
+    @Test
+    void testCompressedSetIsSmallAndIntersects() {
+        ScoreStrategy strategy = ScoreStrategyFactory.createStrategy("standard");
+        String chars = "123456";
+        DenseCandidateSet dense = new DenseCandidateSet(strategy, 8, 6);
+        CompressedCandidateSet first = new CompressedCandidateSet(strategy, 8, 6);
+        CompressedCandidateSet second = new CompressedCandidateSet(strategy, 8, 6);
+        long guess1 = PackedCode.pack("11223344", chars);
+        long guess2 = PackedCode.pack("55661234", chars);
+        long secret = PackedCode.pack("16254361", chars);
+        int score1 = strategy.score(guess1, secret, 8, 6);
+        int score2 = strategy.score(guess2, secret, 8, 6);
+
+        dense.retainMatching(guess1, score1);
+        dense.retainMatching(guess2, score2);
+        first.retainMatching(guess1, score1);
+        second.retainMatching(guess2, score2);
+        CompressedCandidateSet both = (CompressedCandidateSet) first.copy();
+        both.and(second);
+
+        assertEquals(dense.cardinality(), both.cardinality(), "AND should equal filtering by both guesses");
+        for (long i = dense.nextCandidate(0); i >= 0; i = dense.nextCandidate(i + 1)) {
+            assertTrue(both.contains(i), "AND should keep every consistent code");
+        }
+        assertTrue(both.memoryBytes() * 10 < dense.memoryBytes(),
+                "A filtered compressed set should be far smaller than a dense one");
+        assertTrue(first.cardinality() > both.cardinality(), "AND should not change the source set");
+    }
+
+    @Test
+    void testOffHeapSetHoldsLargeSpaces() {
+        CandidateSet set = CandidateSetFactory.createCandidateSet("auto",
+                ScoreStrategyFactory.createStrategy("standard"), 12, 8);
+        assertInstanceOf(OffHeapCandidateSet.class, set, "Large spaces should be held off the heap");
+        assertEquals(68_719_476_736L, set.cardinality(), "A new set should hold every code");
+        assertTrue(set.contains(68_719_476_735L), "The last code should be a candidate");
+        assertEquals(68_719_476_735L, set.nextCandidate(68_719_476_735L));
+    }
+}
@@ -0,0 +1,57 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.HighLowStrategy;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTreeAnalyzerTest {
+
+    @Test
+    void testKnuthClassicGame() {
+        DecisionTree tree = DecisionTreeAnalyzer.analyze("minimax", new BasicStrategy(), 4, "123456");
+        assertEquals(1296, tree.getSecrets());
+        assertEquals(5, tree.getWorstCase());
+        assertEquals(5801.0 / 1296, tree.getAverage(), 1e-9, "Knuth's strategy needs 5801 guesses in total");
+        assertArrayEquals(new long[] { 0, 1, 6, 62, 533, 694 }, tree.getHistogram());
+    }
+
+    @Test
+    void testKnuthClassicGameWithoutScoreTable() {
+        // Score in batches instead of table lookups; the tree must not change.
+        String maxEntries = System.getProperty("mastermind.scoreTable.maxEntries");
+        System.setProperty("mastermind.scoreTable.maxEntries", "0");
+        try {
+            DecisionTree tree = DecisionTreeAnalyzer.analyze("minimax", new BasicStrategy(), 4, "123456");
+            assertArrayEquals(new long[] { 0, 1, 6, 62, 533, 694 }, tree.getHistogram());
+        } finally {
+            if (maxEntries == null) {
+                System.clearProperty("mastermind.scoreTable.maxEntries");
+            } else {
+                System.setProperty("mastermind.scoreTable.maxEntries", maxEntries);
+            }
+        }
+    }
+
+    @Test
+    void testPositionalSolverTree() {
+        DecisionTree tree = DecisionTreeAnalyzer.analyze("positional", new HighLowStrategy(), 3, "12345678");
+        assertEquals(512, tree.getSecrets());
+        assertEquals(4, tree.getWorstCase(), "Binary search over 8 symbols needs at most 4 guesses");
+    }
+
+    @Test
+    void testExportHasOneLinePerNode() throws IOException {
+        DecisionTree tree = DecisionTreeAnalyzer.analyze("minimax", new BasicStrategy(), 2, "123");
+        StringWriter out = new StringWriter();
+        tree.export(out);
+        String[] lines = out.toString().split("\n");
+        assertEquals("11", lines[0], "The root line is the opening guess");
+        assertTrue(lines.length > 1);
+        assertTrue(lines[1].startsWith("  ") && lines[1].contains(" -> "));
+    }
+}
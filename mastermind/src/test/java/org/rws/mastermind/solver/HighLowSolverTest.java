@@ -0,0 +1,56 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.HighLowStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighLowSolverTest {
+
+    private final ScoreStrategy strategy = new HighLowStrategy();
+
+    @Test
+    void testSolvesEveryCodeByBinarySearch() {
+        String chars = "12345678";
+        CodeSpace space = new CodeSpace(4, 8);
+        for (long s = 0; s < space.size(); s++) {
+            long secret = space.unrank(s);
+            int guesses = play(new HighLowSolver(4, chars), secret, 4, chars.length());
+            assertTrue(guesses <= 4, PackedCode.unpack(secret, 4, chars) + " should take at most log2(9) guesses");
+        }
+    }
+
+    @Test
+    void testSolvesLongCodes() {
+        String chars = "0123456789ABCDEF";
+        CodeSpace space = new CodeSpace(15, 16);
+        Random random = new Random(5);
+        for (int game = 0; game < 100; game++) {
+            assertTrue(play(new HighLowSolver(15, chars), space.random(random), 15, 16) <= 5);
+        }
+    }
+
+    @Test
+    void testRemainingShrinks() {
+        HighLowSolver solver = new HighLowSolver(2, "12345678");
+        assertEquals(64, solver.getRemaining());
+        long secret = PackedCode.pack("72", "12345678");
+        long guess = solver.nextGuess();
+        solver.update(guess, strategy.score(guess, secret, 2, 8));
+        assertEquals(12, solver.getRemaining(), "Higher keeps 4 symbols and lower keeps 3");
+    }
+
+    private int play(Solver solver, long secret, int codeLength, int numVars) {
+        int guesses = 1;
+        for (long guess = solver.nextGuess(); guess != secret; guess = solver.nextGuess()) {
+            solver.update(guess, strategy.score(guess, secret, codeLength, numVars));
+            guesses++;
+        }
+        return guesses;
+    }
+}
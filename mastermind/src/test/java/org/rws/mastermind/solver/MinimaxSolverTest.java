@@ -0,0 +1,50 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimaxSolverTest {
+
+    private final ScoreStrategy strategy = new BasicStrategy();
+
+    @Test
+    void testKnuthOpening() {
+        MinimaxSolver solver = new MinimaxSolver(strategy, 4, "123456");
+        assertEquals("1122", solver.suggest(), "Knuth's opening for 4 x 6 should be 1122");
+    }
+
+    @Test
+    void testSolvesClassicGameInFiveGuesses() {
+        String chars = "123456";
+        for (int s = 0; s < 1296; s++) {
+            long secret = PackedCode.fromIndex(s, 4, chars.length());
+            int guesses = play(new MinimaxSolver(strategy, 4, chars), secret, 4, chars.length());
+            assertTrue(guesses <= 5, "Minimax should solve " + PackedCode.unpack(secret, 4, chars) + " in five guesses");
+        }
+    }
+
+    @Test
+    void testSolvesDefaultGame() {
+        String chars = "01234567";
+        for (int s = 0; s < 4096; s += 37) {
+            long secret = PackedCode.fromIndex(s, 4, chars.length());
+            int guesses = play(new MinimaxSolver(strategy, 4, chars), secret, 4, chars.length());
+            assertTrue(guesses <= 7, "Minimax should solve " + PackedCode.unpack(secret, 4, chars) + " in seven guesses");
+        }
+    }
+
+    private int play(Solver solver, long secret, int codeLength, int numVars) {
+        for (int turn = 1; ; turn++) {
+            long guess = solver.nextGuess();
+            int score = strategy.score(guess, secret, codeLength, numVars);
+            if (strategy.exactMatches(score, codeLength) == codeLength) {
+                return turn;
+            }
+            solver.update(guess, score);
+        }
+    }
+}
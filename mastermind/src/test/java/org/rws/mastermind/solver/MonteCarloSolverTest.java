@@ -0,0 +1,64 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSolverTest {
+
+    @Test
+    void testSolvesSmallGames() {
+        ScoreStrategy strategy = new BasicStrategy();
+        CodeSpace space = new CodeSpace(4, 6);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int game = 0; game < 10; game++) {
+            long secret = space.random(random);
+            MonteCarloSolver solver = new MonteCarloSolver(strategy, 4, "123456", 200L, new SplittableRandom(game));
+            assertTrue(play(solver, strategy, secret, 4, 6, 8) <= 8, "Game " + game + " should be solved");
+            assertTrue(solver.isRemainingExact(), "A small space should be enumerated exactly");
+        }
+    }
+
+    @Test
+    void testSolvesLongCodes() {
+        ScoreStrategy strategy = new BasicStrategy();
+        long secret = new CodeSpace(10, 8).random(new SplittableRandom(11));
+        MonteCarloSolver solver = new MonteCarloSolver(strategy, 10, "12345678", 200L, new SplittableRandom(11));
+        assertTrue(play(solver, strategy, secret, 10, 8, 14) <= 14, "A 10x8 game should be solved");
+    }
+
+    @Test
+    void testLargeSpaceRespectsTimeLimit() {
+        ScoreStrategy strategy = new BasicStrategy();
+        long secret = new CodeSpace(12, 8).random(new SplittableRandom(3));
+        MonteCarloSolver solver = new MonteCarloSolver(strategy, 12, "12345678", 50L, new SplittableRandom(3));
+
+        for (int turn = 0; turn < 3; turn++) {
+            long start = System.nanoTime();
+            long guess = solver.nextGuess();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsed < 1_000, "A guess should come back near the time limit, took " + elapsed + " ms");
+            solver.update(guess, strategy.score(guess, secret, 12, 8));
+        }
+        assertFalse(solver.isRemainingExact(), "A large space should only be estimated");
+        assertTrue(solver.getRemaining() > 0);
+    }
+
+    private static int play(Solver solver, ScoreStrategy strategy, long secret, int codeLength, int numVars, int maxTurns) {
+        int turns = 0;
+        while (turns <= maxTurns) {
+            long guess = solver.nextGuess();
+            turns++;
+            if (guess == secret) {
+                return turns;
+            }
+            solver.update(guess, strategy.score(guess, secret, codeLength, numVars));
+        }
+        return turns;
+    }
+}
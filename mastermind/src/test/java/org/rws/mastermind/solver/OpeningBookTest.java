@@ -0,0 +1,83 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    private static final String DIR_PROPERTY = "mastermind.scoreTable.dir";
+
+    private final ScoreStrategy strategy = new BasicStrategy();
+
+    @TempDir
+    Path tableDir;
+
+    private String previousDir;
+
+    @BeforeEach
+    void useTempDirectory() {
+        previousDir = System.setProperty(DIR_PROPERTY, tableDir.toString());
+    }
+
+    @AfterEach
+    void restoreDirectory() {
+        if (previousDir == null) {
+            System.clearProperty(DIR_PROPERTY);
+        } else {
+            System.setProperty(DIR_PROPERTY, previousDir);
+        }
+    }
+
+    @Test
+    void testBookPlaysLikeTheSolver() throws IOException {
+        String chars = "123456";
+        OpeningBook book = OpeningBook.forConfiguration("expected", strategy, 4, chars, 3);
+        assertNotNull(book, "The book should be built");
+        Path file = tableDir.resolve("book-expected-standard-4x6-d3.bin");
+        assertEquals(24 + 16L * book.size(), Files.size(file), "The book file should hold every entry");
+
+        for (int s = 0; s < 1296; s += 7) {
+            long secret = PackedCode.fromIndex(s, 4, chars.length());
+            Solver plain = SolverFactory.createSolver("expected", strategy, 4, chars);
+            BookSolver booked = new BookSolver(book, SolverFactory.createSolver("expected", strategy, 4, chars));
+
+            for (int turn = 1; ; turn++) {
+                boolean inBook = booked.isInBook();
+                long guess = plain.nextGuess();
+                assertEquals(guess, booked.nextGuess(), "The book should agree with the solver on turn " + turn);
+                if (turn <= 3 && plain.getRemaining() > 1) {
+                    assertTrue(inBook, "The first three decisions should come from the book");
+                }
+                int score = strategy.score(guess, secret, 4, chars.length());
+                if (guess == secret) {
+                    break;
+                }
+                plain.update(guess, score);
+                booked.update(guess, score);
+            }
+        }
+    }
+
+    @Test
+    void testUnknownTypesShareTheMinimaxBook() {
+        OpeningBook book = OpeningBook.forConfiguration("no-such-solver", strategy, 4, "1234", 2);
+        assertNotNull(book, "Unknown types should get the book of the minimax fallback");
+        assertSame(book, OpeningBook.forConfiguration("minimax", strategy, 4, "1234", 2),
+                "Unknown types should not build a book of their own");
+        assertTrue(Files.exists(tableDir.resolve("book-minimax-standard-4x4-d2.bin")),
+                "The book should be named after the solver that built it");
+        assertFalse(Files.exists(tableDir.resolve("book-no-such-solver-standard-4x4-d2.bin")),
+                "No file should be named after the unknown type");
+    }
+}
@@ -0,0 +1,48 @@
+package org.rws.mastermind.solver;
+
+import org.openjdk.jmh.annotations.*;
+import org.rws.mastermind.score.BasicStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how evaluating the whole guess space scales with the number of fork/join threads.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ParallelEvaluationBenchmark}.
+ * Each invocation evaluates every opening guess of the default 4 x 8 game.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelEvaluationBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ParallelGuessEvaluator evaluator;
+    private MinimaxSolver solver;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        evaluator = new ParallelGuessEvaluator(pool);
+        solver = new MinimaxSolver(new BasicStrategy(), 4, "12345678");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public GuessEvaluation evaluateOpening() {
+        return evaluator.evaluate(solver, PartitionStats.BY_WORST_CASE, 0L);
+    }
+}
@@ -0,0 +1,71 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelGuessEvaluatorTest {
+
+    private final ScoreStrategy strategy = new BasicStrategy();
+
+    @Test
+    void testParallelSearchMatchesSequential() {
+        String chars = "123456";
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int s = 0; s < 1296; s += 61) {
+                long secret = PackedCode.fromIndex(s, 4, chars.length());
+                MinimaxSolver sequential = new MinimaxSolver(strategy, 4, chars);
+                MinimaxSolver parallel = new MinimaxSolver(strategy, 4, chars, new ParallelGuessEvaluator(pool), 0L);
+
+                while (true) {
+                    long guess = sequential.nextGuess();
+                    assertEquals(PackedCode.unpack(guess, 4, chars), parallel.suggest(),
+                            "Parallel and sequential minimax should pick the same guess");
+                    int score = strategy.score(guess, secret, 4, chars.length());
+                    if (BasicStrategy.blackPegs(score) == 4) {
+                        break;
+                    }
+                    sequential.update(guess, score);
+                    parallel.update(guess, score);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testDeadlineCutsSearchShort() {
+        MinimaxSolver solver = new MinimaxSolver(strategy, 6, "12345678");
+        long start = System.nanoTime();
+        GuessEvaluation evaluation = new ParallelGuessEvaluator().evaluate(solver, PartitionStats.BY_WORST_CASE, 50);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(evaluation.isComplete(), "A 6 x 8 opening should not be evaluated in 50 ms");
+        assertNotNull(evaluation.getBest(), "The best guess so far should be returned");
+        assertTrue(elapsedMillis < 2000, "The evaluation should stop near its deadline");
+    }
+
+    @Test
+    void testCancellationIsPerEvaluation() {
+        ParallelGuessEvaluator shared = new ParallelGuessEvaluator();
+        MinimaxSolver first = new MinimaxSolver(strategy, 4, "123456");
+        MinimaxSolver second = new MinimaxSolver(strategy, 4, "123456");
+
+        AtomicBoolean cancelled = new AtomicBoolean(true);
+        GuessEvaluation early = shared.evaluate(first, PartitionStats.BY_WORST_CASE, 0L, cancelled);
+        assertEquals(0, early.getEvaluated(), "A cancellation before the start should not be lost");
+
+        shared.cancel();
+        GuessEvaluation other = shared.evaluate(second, PartitionStats.BY_WORST_CASE, 0L);
+        assertTrue(other.isComplete(), "Cancelling one evaluation should not stop a later one");
+        assertTrue(cancelled.get(), "The caller's flag should not be cleared");
+    }
+}
@@ -0,0 +1,54 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.CodeSpace;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.PatternStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternSolverTest {
+
+    private final ScoreStrategy strategy = new PatternStrategy();
+
+    @Test
+    void testSolvesEveryCodeByElimination() {
+        String chars = "123456";
+        CodeSpace space = new CodeSpace(4, 6);
+        for (long s = 0; s < space.size(); s++) {
+            long secret = space.unrank(s);
+            int guesses = play(new PatternSolver(4, chars), secret, 4, chars.length());
+            assertTrue(guesses <= 6, PackedCode.unpack(secret, 4, chars) + " should take at most six guesses");
+        }
+    }
+
+    @Test
+    void testSolvesLongCodes() {
+        String chars = "0123456789ABCDEF";
+        CodeSpace space = new CodeSpace(15, 16);
+        Random random = new Random(9);
+        for (int game = 0; game < 100; game++) {
+            assertTrue(play(new PatternSolver(15, chars), space.random(random), 15, 16) <= 16);
+        }
+    }
+
+    @Test
+    void testFactorySelectsByFeedback() {
+        assertInstanceOf(PatternSolver.class, SolverFactory.createSolver("positional", strategy, 4, "123456"));
+        assertThrows(IllegalArgumentException.class, () -> SolverFactory.createSolver("positional",
+                new BasicStrategy(), 4, "123456"));
+    }
+
+    private int play(Solver solver, long secret, int codeLength, int numVars) {
+        int guesses = 1;
+        for (long guess = solver.nextGuess(); guess != secret; guess = solver.nextGuess()) {
+            solver.update(guess, strategy.score(guess, secret, codeLength, numVars));
+            guesses++;
+        }
+        return guesses;
+    }
+}
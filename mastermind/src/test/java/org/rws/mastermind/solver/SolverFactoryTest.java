@@ -0,0 +1,39 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.ScoreStrategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverFactoryTest {
+
+    private final ScoreStrategy strategy = new BasicStrategy();
+
+    @Test
+    void testObjectivesSelectedByName() {
+        assertInstanceOf(MinimaxSolver.class, SolverFactory.createSolver("minimax", strategy, 4, "123456"));
+        assertInstanceOf(PartitionSolver.class, SolverFactory.createSolver("entropy", strategy, 4, "123456"));
+    }
+
+    @Test
+    void testEveryObjectiveSolvesClassicGame() {
+        String chars = "123456";
+        for (String type : new String[] { "minimax", "entropy", "parts", "expected" }) {
+            int total = 0;
+            for (int s = 0; s < 1296; s++) {
+                long secret = PackedCode.fromIndex(s, 4, chars.length());
+                Solver solver = SolverFactory.createSolver(type, strategy, 4, chars);
+                int guesses = 1;
+                for (long guess = solver.nextGuess(); guess != secret; guess = solver.nextGuess()) {
+                    solver.update(guess, strategy.score(guess, secret, 4, chars.length()));
+                    guesses++;
+                }
+                assertTrue(guesses <= 6, type + " should solve " + PackedCode.unpack(secret, 4, chars) + " in six guesses");
+                total += guesses;
+            }
+            assertTrue(total / 1296.0 < 4.5, type + " should average under 4.5 guesses");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+import org.rws.mastermind.score.PatternStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryReducerTest {
+
+    private static final int LENGTH = 4;
+    private static final int NUM_VARS = 5;
+    private static final int SPACE = 625;
+
+    @Test
+    void testOpeningHasOneGuessPerShape() {
+        SymmetryReducer symmetry = new SymmetryReducer(new BasicStrategy(), 4, 8);
+        List<String> canonical = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            long code = PackedCode.fromIndex(i, 4, 8);
+            if (symmetry.isCanonical(code)) {
+                canonical.add(PackedCode.unpack(code, 4, "12345678"));
+            }
+        }
+        canonical.sort(null);
+        assertEquals(List.of("1111", "1112", "1122", "1123", "1234"), canonical,
+                "The opening should reduce to one guess per shape");
+    }
+
+    @Test
+    void testCanonicalGuessIsFirstOfItsClass() {
+        Random random = new Random(3);
+        for (boolean positions : new boolean[] { true, false }) {
+            for (int game = 0; game < 20; game++) {
+                SymmetryReducer symmetry = new SymmetryReducer(
+                        positions ? new BasicStrategy() : new PatternStrategy(), LENGTH, NUM_VARS);
+                List<int[]> history = new ArrayList<>();
+                for (int turn = 0; turn < 3; turn++) {
+                    for (int i = 0; i < SPACE; i++) {
+                        int[] code = digits(i);
+                        assertEquals(isFirstOfClass(code, history, positions), symmetry.isCanonical(pack(code)),
+                                "Canonical check should agree with brute force for " + i);
+                    }
+                    int[] guess = digits(random.nextInt(SPACE));
+                    history.add(guess);
+                    symmetry.record(pack(guess));
+                }
+            }
+        }
+    }
+
+    /**
+     * Brute force: tries every free-symbol relabelling and every permutation of positions
+     * that keeps each position class, and checks that none gives a smaller code.
+     */
+    private static boolean isFirstOfClass(int[] code, List<int[]> history, boolean positions) {
+        boolean[] free = new boolean[NUM_VARS];
+        Arrays.fill(free, true);
+        for (int[] guess : history) {
+            for (int symbol : guess) {
+                free[symbol] = false;
+            }
+        }
+
+        for (int[] permutation : permutations(LENGTH)) {
+            if (!positions && !isIdentity(permutation)) {
+                continue;
+            }
+            if (!keepsClasses(permutation, history)) {
+                continue;
+            }
+            for (int[] relabel : permutations(NUM_VARS)) {
+                if (!movesOnlyFree(relabel, free)) {
+                    continue;
+                }
+                int[] image = new int[LENGTH];
+                for (int i = 0; i < LENGTH; i++) {
+                    image[permutation[i]] = relabel[code[i]];
+                }
+                if (Arrays.compare(image, code) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean keepsClasses(int[] permutation, List<int[]> history) {
+        for (int[] guess : history) {
+            for (int i = 0; i < LENGTH; i++) {
+                if (guess[permutation[i]] != guess[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean movesOnlyFree(int[] relabel, boolean[] free) {
+        for (int v = 0; v < relabel.length; v++) {
+            if (relabel[v] != v && (!free[v] || !free[relabel[v]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentity(int[] permutation) {
+        for (int i = 0; i < permutation.length; i++) {
+            if (permutation[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<int[]> permutations(int n) {
+        List<int[]> result = new ArrayList<>();
+        permute(new int[n], new boolean[n], 0, result);
+        return result;
+    }
+
+    private static void permute(int[] current, boolean[] used, int depth, List<int[]> result) {
+        if (depth == current.length) {
+            result.add(current.clone());
+            return;
+        }
+        for (int v = 0; v < current.length; v++) {
+            if (!used[v]) {
+                used[v] = true;
+                current[depth] = v;
+                permute(current, used, depth + 1, result);
+                used[v] = false;
+            }
+        }
+    }
+
+    /** Digits of a code in reading order, position 0 first. */
+    private static int[] digits(int rank) {
+        int[] code = new int[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = rank % NUM_VARS;
+            rank /= NUM_VARS;
+        }
+        return code;
+    }
+
+    private static long pack(int[] code) {
+        long packed = 0L;
+        for (int i = 0; i < code.length; i++) {
+            packed |= (long) code[i] << (i * PackedCode.BITS_PER_POSITION);
+        }
+        return packed;
+    }
+}
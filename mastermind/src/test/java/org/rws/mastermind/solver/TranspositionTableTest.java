@@ -0,0 +1,53 @@
+package org.rws.mastermind.solver;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+import org.rws.mastermind.score.BasicStrategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testKeyDependsOnlyOnCandidateSet() {
+        TranspositionTable.Key key = new TranspositionTable.Key(new int[] { 3, 8, 21, 40 }, 4);
+        assertEquals(key, new TranspositionTable.Key(new int[] { 3, 8, 21, 40, 99 }, 4),
+                "Entries beyond the count should not affect the key");
+        assertNotEquals(key, new TranspositionTable.Key(new int[] { 3, 8, 22, 40 }, 4),
+                "A different candidate should change the key");
+        assertNotEquals(key, new TranspositionTable.Key(new int[] { 3, 8, 21 }, 3),
+                "A different count should change the key");
+    }
+
+    @Test
+    void testTableIsBounded() {
+        TranspositionTable table = new TranspositionTable(64);
+        PartitionStats stats = new PartitionStats(0, 0, true, 1, 1, 1.0, 0.0);
+        for (int i = 0; i < 1000; i++) {
+            table.put(new TranspositionTable.Key(new int[] { i }, 1), stats);
+        }
+        assertTrue(table.size() <= 64, "The table should not grow past its bound");
+        assertNotNull(table.get(new TranspositionTable.Key(new int[] { 999 }, 1)),
+                "The most recent state should still be stored");
+    }
+
+    @Test
+    void testSolversShareDecisions() {
+        BasicStrategy strategy = new BasicStrategy();
+        long opening = PackedCode.pack("1122", "123456");
+        long second = PackedCode.pack("1344", "123456");
+
+        MinimaxSolver first = new MinimaxSolver(strategy, 4, "123456");
+        first.update(opening, 0x10);
+        first.update(second, 0x01);
+        long expected = first.nextGuess();
+
+        TranspositionTable table = TranspositionTable.forConfiguration("minimax:" + strategy.getType() + ":4:123456");
+        long hits = table.getHits();
+        MinimaxSolver next = new MinimaxSolver(strategy, 4, "123456");
+        next.update(opening, 0x10);
+        next.update(second, 0x01);
+        assertEquals(expected, next.nextGuess(), "A shared state should give the same guess");
+        assertEquals(hits + 1, table.getHits(), "The second solver should reuse the stored decision");
+    }
+}
@@ -0,0 +1,36 @@
+package org.rws.mastermind.score;
+
+import org.junit.jupiter.api.Test;
+import org.rws.mastermind.code.PackedCode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorBasicStrategyTest {
+
+    @Test
+    void testFactorySelectsVectorStrategy() {
+        assertTrue(ScoreStrategyFactory.isVectorized(), "The vector profile should enable SIMD scoring");
+    }
+
+    @Test
+    void testVectorMatchesScalarScoring() {
+        BasicStrategy scalar = new BasicStrategy();
+        VectorBasicStrategy vector = new VectorBasicStrategy();
+
+        for (int length = 3; length <= 6; length++) {
+            int codes = (int) PackedCode.spaceSize(length, 8);
+            long[] candidates = new long[codes];
+            for (int i = 0; i < codes; i++) {
+                candidates[i] = PackedCode.fromIndex(i, length, 8);
+            }
+
+            byte[] expected = new byte[codes];
+            byte[] actual = new byte[codes];
+            for (int g = 0; g < codes; g += 101) {
+                scalar.scoreBatch(candidates[g], candidates, 1, codes - 1, expected, length, 8);
+                vector.scoreBatch(candidates[g], candidates, 1, codes - 1, actual, length, 8);
+                assertArrayEquals(expected, actual, "Vector scores should match scalar scores for length " + length);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.rws.mastermind.score;
+
+import org.openjdk.jmh.annotations.*;
+import org.rws.mastermind.code.PackedCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Vector API batch scorer with the scalar batch scorer.
+ *
+ * <p>
+ * Run with {@code mvn -Pvector,benchmark test-compile exec:exec -Dbenchmark=VectorScoringBenchmark}.
+ * Each invocation scores one guess against every code in the space.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class VectorScoringBenchmark {
+
+    @Param({"4", "6"})
+    public int codeLength;
+
+    private static final int NUM_VARS = 8;
+
+    private BasicStrategy scalar;
+    private VectorBasicStrategy vector;
+    private long[] candidates;
+    private byte[] out;
+    private long guess;
+
+    @Setup
+    public void setUp() {
+        scalar = new BasicStrategy();
+        vector = new VectorBasicStrategy();
+
+        int codes = (int) PackedCode.spaceSize(codeLength, NUM_VARS);
+        candidates = new long[codes];
+        for (int i = 0; i < codes; i++) {
+            candidates[i] = PackedCode.fromIndex(i, codeLength, NUM_VARS);
+        }
+        out = new byte[codes];
+        guess = candidates[codes / 3];
+    }
+
+    @Benchmark
+    public byte[] scalar() {
+        scalar.scoreBatch(guess, candidates, 0, candidates.length, out, codeLength, NUM_VARS);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] vector() {
+        vector.scoreBatch(guess, candidates, 0, candidates.length, out, codeLength, NUM_VARS);
+        return out;
+    }
+}